@@ -2,6 +2,7 @@ package com.cleveroad.adaptivetablelayout;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.SparseIntArray;
 import android.view.ViewGroup;
 
 /**
@@ -10,6 +11,11 @@ import android.view.ViewGroup;
  * @param <VH> Implementation of ViewHolder {@link ViewHolder}
  */
 interface AdaptiveTableAdapter<VH extends ViewHolder> extends AdaptiveTableDataSetObserver {
+    /**
+     * Item doesn't have stable id
+     */
+    long NO_ID = -1;
+
     /**
      * @return Item click listener
      */
@@ -78,6 +84,19 @@ interface AdaptiveTableAdapter<VH extends ViewHolder> extends AdaptiveTableDataS
     @NonNull
     VH onCreateItemViewHolder(@NonNull ViewGroup parent);
 
+    /**
+     * Called when {@link AdaptiveTableLayout} needs a new ITEM {@link ViewHolder} of the view type.
+     * Recycled view holders are reused only for items of the same view type.
+     *
+     * @param parent   The ViewGroup into which the new View will be added after it is bound to
+     *                 an adapter position.
+     * @param viewType The view type returned by {@link #getItemViewType(int, int)}.
+     * @return A new ViewHolder that holds a View of the given view type.
+     * @see #onBindViewHolder(ViewHolder, int, int)
+     */
+    @NonNull
+    VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType);
+
     /**
      * Called when {@link AdaptiveTableLayout} needs a new COLUMN HEADER ITEM {@link ViewHolder}
      *
@@ -124,6 +143,19 @@ interface AdaptiveTableAdapter<VH extends ViewHolder> extends AdaptiveTableDataS
      */
     void onBindViewHolder(@NonNull VH viewHolder, int row, int column);
 
+    /**
+     * Called by {@link AdaptiveTableLayout} instead of {@link #onBindViewHolder(ViewHolder, int, int)} during a fast
+     * fling, when the item is most likely visible for a few frames only. This method should be cheap: show
+     * a placeholder and don't load images. Items which stay visible are bound by
+     * {@link #onBindViewHolder(ViewHolder, int, int)} when the fling slows down.
+     *
+     * @param viewHolder The ITEM {@link ViewHolder} which should show a placeholder of the item.
+     * @param row        The row index of the item within the adapter's data set.
+     * @param column     The column index of the item within the adapter's data set.
+     * @see AdaptiveTableLayout#setPlaceholderFlingVelocity(int)
+     */
+    void onBindPlaceholderViewHolder(@NonNull VH viewHolder, int row, int column);
+
     /**
      * Called by {@link AdaptiveTableLayout} to display the data at the specified position. This method should
      * update the contents of the {@link ViewHolder#getItemView()} to reflect the item at the given
@@ -188,6 +220,44 @@ interface AdaptiveTableAdapter<VH extends ViewHolder> extends AdaptiveTableDataS
      */
     int getHeaderRowWidth();
 
+    /**
+     * Return the width of all columns, if columns have the same width.
+     * In this case {@link AdaptiveTableLayout} doesn't call {@link #getColumnWidth(int)} for every column
+     * and its memory doesn't depend on columns count.
+     *
+     * @return The width of the columns, in pixels, or 0 if columns have different widths.
+     * @see #getColumnWidthOverrides()
+     */
+    int getUniformColumnWidth();
+
+    /**
+     * Return the height of all rows, if rows have the same height.
+     * In this case {@link AdaptiveTableLayout} doesn't call {@link #getRowHeight(int)} for every row
+     * and its memory doesn't depend on rows count.
+     *
+     * @return The height of the rows, in pixels, or 0 if rows have different heights.
+     * @see #getRowHeightOverrides()
+     */
+    int getUniformRowHeight();
+
+    /**
+     * Return columns which width is different from {@link #getUniformColumnWidth()}.
+     * Used only if uniform column width is set.
+     *
+     * @return Column's widths, in pixels. Key is the column index, the same as in {@link #getColumnWidth(int)}.
+     */
+    @Nullable
+    SparseIntArray getColumnWidthOverrides();
+
+    /**
+     * Return rows which height is different from {@link #getUniformRowHeight()}.
+     * Used only if uniform row height is set.
+     *
+     * @return Row's heights, in pixels. Key is the row index, the same as in {@link #getRowHeight(int)}.
+     */
+    @Nullable
+    SparseIntArray getRowHeightOverrides();
+
     /**
      * Called when a view created by this adapter has been recycled.
      * <p>
@@ -205,5 +275,29 @@ interface AdaptiveTableAdapter<VH extends ViewHolder> extends AdaptiveTableDataS
      */
     void onViewHolderRecycled(@NonNull VH viewHolder);
 
+    /**
+     * Return view type of the item, e.g. for image, numeric or text columns. View holders of different view types
+     * are created by {@link #onCreateItemViewHolder(ViewGroup, int)} and aren't reused for each other.
+     *
+     * @param row    The row index of the item, the same as in {@link #onBindViewHolder(ViewHolder, int, int)}.
+     * @param column The column index of the item, the same as in {@link #onBindViewHolder(ViewHolder, int, int)}.
+     * @return View type of the item, 0 by default
+     */
+    int getItemViewType(int row, int column);
+
+    /**
+     * Return stable id of the item's data. Id doesn't change when the item is moved to other row or column.
+     * <p>
+     * Recycled ITEM {@link ViewHolder} which was bound to the item with the same id is preferred
+     * and isn't bound again by {@link #onBindViewHolder(ViewHolder, int, int)}. Such view holder keeps its content,
+     * so {@link #onViewHolderRecycled(ViewHolder)} is called for it only when it's bound to other item
+     * or released. All view holders are bound again after any notify call.
+     *
+     * @param row    The row index of the item, the same as in {@link #onBindViewHolder(ViewHolder, int, int)}.
+     * @param column The column index of the item, the same as in {@link #onBindViewHolder(ViewHolder, int, int)}.
+     * @return Stable id of the item or {@link #NO_ID}
+     */
+    long getItemId(int row, int column);
+
 
 }
@@ -1,10 +1,13 @@
 package com.cleveroad.adaptivetablelayout;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Point;
 import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcel;
@@ -12,40 +15,214 @@ import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
-import android.support.v4.util.SparseArrayCompat;
 import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.SparseIntArray;
+import android.view.Display;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.ScrollHelperListener, AdaptiveTableDataSetObserver {
+public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.ScrollHelperListener, AdaptiveTableDataSetObserver,
+        ItemSizesLoader.ItemSizesLoaderListener, Recycler.RecyclerListener,
+        ViewHolderPreInflater.ViewHolderPreInflaterListener, ViewHolderPrefetcher.ViewHolderPrefetcherListener,
+        SmoothScrollRunnable.SmoothScrollListener {
 
     private static final String EXTRA_STATE_SUPER = "EXTRA_STATE_SUPER";
     private static final String EXTRA_STATE_VIEW_GROUP = "EXTRA_STATE_VIEW_GROUP";
 
     private static final int SHADOW_THICK = 20;
     private static final int SHADOW_HEADERS_THICK = 10;
+    /**
+     * Count of rows (columns) used to estimate row's height (column's width) in progressive layout mode
+     */
+    private static final int SIZE_ESTIMATE_SAMPLES = 8;
+    /**
+     * Max time of one step of binding placeholders' items, in nanoseconds
+     */
+    private static final long PLACEHOLDERS_BIND_STEP_NANOS = 4000000L;
 
+    /**
+     * Layers with views of items, row's headers, column's headers and left top header.
+     * Each layer clips its views, scroll just moves layer's content.
+     */
+    private TableLayer mItemsLayer;
+    private TableLayer mRowHeadersLayer;
+    private TableLayer mColumnHeadersLayer;
+    private TableLayer mLeftTopHeaderLayer;
     /**
      * Matrix with item view holders
      */
-    private SparseMatrix<ViewHolder> mViewHolders;
+    private RingBufferMatrix<ViewHolder> mViewHolders;
+    /**
+     * Visitors of item view holders. Created once, so iteration in layout doesn't allocate memory
+     */
+    private final MatrixVisitor<ViewHolder> mRefreshItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            refreshItemViewHolder(holder, mState.isRowDragging(), mState.isColumnDragging());
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mRefreshShiftedItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            if (holder.getRowIndex() >= mShiftedRow || holder.getColumnIndex() >= mShiftedColumn) {
+                refreshItemViewHolder(holder, mState.isRowDragging(), mState.isColumnDragging());
+            }
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mRecycleInvisibleItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            if (!holder.isDragging()
+                    && (holder.getColumnIndex() < mFirstVisibleColumn
+                    || holder.getColumnIndex() > mLastVisibleColumn
+                    || holder.getRowIndex() < mFirstVisibleRow
+                    || holder.getRowIndex() > mLastVisibleRow)) {
+                mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
+                recycleViewHolder(holder);
+            }
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mRecycleItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            if (!holder.isDragging()) {
+                mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
+                recycleViewHolder(holder);
+            }
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mSetDraggingVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            holder.setIsDragging(true);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mClearDraggingVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            holder.setIsDragging(false);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mMeasureItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            measureViewHolder(holder, mManager.getColumnWidth(holder.getColumnIndex()),
+                    mManager.getRowHeight(holder.getRowIndex()));
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mSetRowIndexVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            holder.setRowIndex(mVisitedIndex);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mSetColumnIndexVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            holder.setColumnIndex(mVisitedIndex);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mReleaseChangedItemVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
+            releaseViewHolder(holder);
+            // matrix can't get new items while it's iterated, add them later
+            addChangedItem(holder.getRowIndex(), holder.getColumnIndex());
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mClearItemIdVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            holder.setItemId(AdaptiveTableAdapter.NO_ID);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mBindPlaceholderVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            if (!holder.isPlaceholder()) {
+                return;
+            }
+            if (System.nanoTime() < mPlaceholdersBindDeadline) {
+                bindPlaceholderItem(holder);
+            } else {
+                mHasPlaceholders = true;
+            }
+        }
+    };
+    /**
+     * Visitors of cached view holders
+     */
+    private final MatrixVisitor<ViewHolder> mReleaseViewHolderVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            releaseViewHolder(holder);
+        }
+    };
+    private final MatrixVisitor<ViewHolder> mKeepLandingViewHolderVisitor = new MatrixVisitor<ViewHolder>() {
+        @Override
+        public void visit(@NonNull ViewHolder holder) {
+            keepLandingViewHolder(holder);
+        }
+    };
+    /**
+     * Binds items of visible placeholders in small portions after the fast fling
+     */
+    private final Runnable mBindPlaceholdersRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mPlaceholdersBindDeadline = System.nanoTime() + PLACEHOLDERS_BIND_STEP_NANOS;
+            mHasPlaceholders = false;
+            mViewHolders.forEach(mBindPlaceholderVisitor);
+            if (mHasPlaceholders) {
+                // run self
+                post(this);
+            }
+        }
+    };
+    /**
+     * True if some visible item view holders can be bound as placeholders
+     */
+    private boolean mHasPlaceholders;
+    /**
+     * Time when the current step of binding placeholders' items should be finished, in nanoseconds
+     */
+    private long mPlaceholdersBindDeadline;
+    /**
+     * Row or column index which is set to visited view holders
+     */
+    private int mVisitedIndex;
+    /**
+     * View holders at or after this row or column are moved by a size change
+     */
+    private int mShiftedRow;
+    private int mShiftedColumn;
+    /**
+     * Positions of changed items which are released and should be added again
+     */
+    private int[] mChangedRows = new int[0];
+    private int[] mChangedColumns = new int[0];
+    private int mChangedCount;
+    /**
+     * True while view holders are prefetched. They are always bound with items
+     */
+    private boolean mIsPrefetching;
     /**
      * Map with column's headers view holders
      */
-    private SparseArrayCompat<ViewHolder> mHeaderColumnViewHolders;
+    private LongHashMap<ViewHolder> mHeaderColumnViewHolders;
     /**
      * Map with row's headers view holders
      */
-    private SparseArrayCompat<ViewHolder> mHeaderRowViewHolders;
+    private LongHashMap<ViewHolder> mHeaderRowViewHolders;
     /**
      * Contained with drag and drop points
      */
@@ -69,6 +246,18 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * Contains visible area rect. Left top point and right bottom
      */
     private Rect mVisibleArea;
+    /**
+     * Rows and columns which need to be showed in the visible area
+     */
+    private int mFirstVisibleRow;
+    private int mLastVisibleRow;
+    private int mFirstVisibleColumn;
+    private int mLastVisibleColumn;
+    /**
+     * True if there are view holders only in the visible rows and columns.
+     * In this case scroll just moves view holders and changes visible rows and columns.
+     */
+    private boolean mIsVisibleRangeValid;
     /**
      * View holder in the left top corner.
      */
@@ -82,6 +271,48 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * Recycle ViewHolders
      */
     private Recycler mRecycler;
+    /**
+     * True if mRecycler is shared with other tables. Views of its view holders are removed from the layout
+     */
+    private boolean mIsRecyclerShared;
+    /**
+     * Recently hidden ViewHolders, which are still attached and bound
+     */
+    private ViewHolderCache mViewHolderCache;
+    /**
+     * View holders prefetched for the area where the fling stops. They are attached, bound and hidden
+     */
+    private ViewHolderCache mLandingViewHolderCache;
+    /**
+     * True if rows and columns where the fling stops are known
+     */
+    private boolean mIsLandingPredicted;
+    /**
+     * Rows and columns which will be visible when the fling stops
+     */
+    private int mLandingFirstRow;
+    private int mLandingLastRow;
+    private int mLandingFirstColumn;
+    private int mLandingLastColumn;
+    /**
+     * Trims recycled ViewHolders on system's request
+     */
+    private final ComponentCallbacks2 mTrimMemoryCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            mRecycler.onTrimMemory(level);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+            // nothing to do
+        }
+
+        @Override
+        public void onLowMemory() {
+            mRecycler.onTrimMemory(TRIM_MEMORY_COMPLETE);
+        }
+    };
     /**
      * Keep layout settings
      */
@@ -91,6 +322,10 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * Detect all gestures on layout.
      */
     private ScrollHelper mScrollHelper;
+    /**
+     * Scrolls the table once per frame by touch, fling and drag and drop scroll
+     */
+    private ScrollFrameDispatcher mScrollDispatcher;
     /**
      * Runnable helps with fling events
      */
@@ -99,6 +334,34 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * Runnable helps with scroll in drag and drop mode
      */
     private DragAndDropScrollRunnable mScrollerDragAndDropRunnable;
+    /**
+     * Loads row's heights and column's widths in progressive layout mode
+     */
+    private ItemSizesLoader mSizesLoader;
+    /**
+     * True if the loader changed size of a row or column at or before the last visible one
+     */
+    private boolean mIsVisibleSizeLoaded;
+    /**
+     * True if loading of sizes was cancelled on detach from window, it's started again on attach
+     */
+    private boolean mIsSizesLoadingCancelled;
+    /**
+     * Creates view holders ahead of time
+     */
+    private ViewHolderPreInflater mPreInflater;
+    /**
+     * Prefetches view holders of the next row and column in the scroll direction
+     */
+    private ViewHolderPrefetcher mPrefetcher;
+    /**
+     * Records metrics of sampled frames for {@link TableMetricsListener}
+     */
+    private TableMetricsRecorder mMetricsRecorder;
+    /**
+     * Count of item view holders created by mPreInflater, used to choose their view types
+     */
+    private int mPreInflatedItemCount;
 
     /**
      * Helps work with row' or column' shadows.
@@ -151,11 +414,14 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         super.setLayoutDirection(layoutDirection);
         mLayoutDirection = layoutDirection;
         mLayoutDirectionHelper.setLayoutDirection(mLayoutDirection);
-        mShadowHelper.onLayoutDirectionChanged();
+        mShadowHelper.onLayoutDirectionChanged(this);
+        // cached view holders are bound with other columns
+        releaseCachedViewHolders();
     }
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        mMetricsRecorder.addLayout();
         if (changed) {
             // calculate layout width and height
             mSettings.setLayoutWidth(r - l);
@@ -176,28 +442,52 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             mSettings.setCellMargin(a.getDimensionPixelSize(R.styleable.AdaptiveTableLayout_cellMargin, 0));
             mSettings.setSolidRowHeader(a.getBoolean(R.styleable.AdaptiveTableLayout_solidRowHeaders, true));
             mSettings.setDragAndDropEnabled(a.getBoolean(R.styleable.AdaptiveTableLayout_dragAndDropEnabled, true));
+            mSettings.setProgressiveLayout(a.getBoolean(R.styleable.AdaptiveTableLayout_progressiveLayout, false));
+            mSettings.setTouchPredictionEnabled(
+                    a.getBoolean(R.styleable.AdaptiveTableLayout_touchPredictionEnabled, false));
         } finally {
             a.recycle();
         }
+        mScrollHelper.setTouchPredictionEnabled(mSettings.isTouchPredictionEnabled());
 
     }
 
     private void init(Context context) {
-        mViewHolders = new SparseMatrix<>();
+        mItemsLayer = new TableLayer(context);
+        mRowHeadersLayer = new TableLayer(context);
+        mColumnHeadersLayer = new TableLayer(context);
+        mLeftTopHeaderLayer = new TableLayer(context);
+        addView(mItemsLayer);
+        addView(mRowHeadersLayer);
+        addView(mColumnHeadersLayer);
+        addView(mLeftTopHeaderLayer);
+        mViewHolders = new RingBufferMatrix<>();
         mLayoutDirectionHelper = new LayoutDirectionHelper(mLayoutDirection);
-        mHeaderColumnViewHolders = new SparseArrayCompat<>();
-        mHeaderRowViewHolders = new SparseArrayCompat<>();
+        mHeaderColumnViewHolders = new LongHashMap<>();
+        mHeaderRowViewHolders = new LongHashMap<>();
         mDragAndDropPoints = new DragAndDropPoints();
         mState = new AdaptiveTableState();
         mManager = new AdaptiveTableManagerRTL(mLayoutDirectionHelper);
         mLastSwitchHeaderPoint = new Point();
         mVisibleArea = new Rect();
         // init scroll and fling helpers
-        mScrollerRunnable = new SmoothScrollRunnable(this);
-        mScrollerDragAndDropRunnable = new DragAndDropScrollRunnable(this);
+        mScrollDispatcher = new ScrollFrameDispatcher(this);
+        mScrollerRunnable = new SmoothScrollRunnable(this, mScrollDispatcher);
+        mScrollerRunnable.setListener(this);
+        mScrollerDragAndDropRunnable = new DragAndDropScrollRunnable(this, mScrollDispatcher);
+        mSizesLoader = new ItemSizesLoader(this);
+        mSizesLoader.setListener(this);
+        mPreInflater = new ViewHolderPreInflater();
+        mPreInflater.setListener(this);
+        mPrefetcher = new ViewHolderPrefetcher(this);
+        mPrefetcher.setListener(this);
+        mMetricsRecorder = new TableMetricsRecorder();
         mRecycler = new Recycler();
+        mRecycler.setListener(this);
+        mViewHolderCache = new ViewHolderCache();
+        mLandingViewHolderCache = new ViewHolderCache();
         mSettings = new AdaptiveTableLayoutSettings();
-        mScrollHelper = new ScrollHelper(context);
+        mScrollHelper = new ScrollHelper(context, mScrollDispatcher);
         mScrollHelper.setListener(this);
         mShadowHelper = new ShadowHelper(mLayoutDirectionHelper);
     }
@@ -240,6 +530,12 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     }
 
     private void initItems() {
+        // sizes will be loaded again
+        mSizesLoader.cancel();
+        mIsVisibleRangeValid = false;
+        // cached view holders can be bound by other adapter
+        invalidateRecycledViewHolders();
+
         if (mAdapter == null) {
             // clear
             mManager.clear();
@@ -248,19 +544,49 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         }
 
 
-        // init manager. Not include headers
-        mManager.init(mAdapter.getRowCount() - 1, mAdapter.getColumnCount() - 1);
+        int uniformColumnWidth = Math.max(0, mAdapter.getUniformColumnWidth());
+        int uniformRowHeight = Math.max(0, mAdapter.getUniformRowHeight());
+        // restored scroll position needs real sizes
+        boolean isProgressive = mSettings.isProgressiveLayout() && mSaver == null;
+
+        // init manager. Not include headers. In progressive mode all items start with estimated size,
+        // real sizes will be loaded by mSizesLoader and saved as overrides of it
+        mManager.init(mAdapter.getRowCount() - 1, mAdapter.getColumnCount() - 1,
+                uniformRowHeight > 0 || !isProgressive ? uniformRowHeight : estimateRowHeight(),
+                uniformColumnWidth > 0 || !isProgressive ? uniformColumnWidth : estimateColumnWidth());
 
         // calculate widths
-        for (int count = mManager.getColumnCount(), i = 0; i < count; i++) {
-            int item = mAdapter.getColumnWidth(i);
-            mManager.putColumnWidth(i, item);
+        if (uniformColumnWidth > 0) {
+            // put only columns with not uniform width
+            SparseIntArray widths = mAdapter.getColumnWidthOverrides();
+            for (int count = widths == null ? 0 : widths.size(), i = 0; i < count; i++) {
+                int column = widths.keyAt(i);
+                if (column >= 0 && column < mManager.getColumnCount()) {
+                    mManager.putColumnWidth(column, widths.valueAt(i));
+                }
+            }
+        } else if (!isProgressive) {
+            for (int count = mManager.getColumnCount(), i = 0; i < count; i++) {
+                int item = mAdapter.getColumnWidth(i);
+                mManager.putColumnWidth(i, item);
+            }
         }
 
         // calculate heights
-        for (int count = mManager.getRowCount(), i = 0; i < count; i++) {
-            int item = mAdapter.getRowHeight(i);
-            mManager.putRowHeight(i, item);
+        if (uniformRowHeight > 0) {
+            // put only rows with not uniform height
+            SparseIntArray heights = mAdapter.getRowHeightOverrides();
+            for (int count = heights == null ? 0 : heights.size(), i = 0; i < count; i++) {
+                int row = heights.keyAt(i);
+                if (row >= 0 && row < mManager.getRowCount()) {
+                    mManager.putRowHeight(row, heights.valueAt(i));
+                }
+            }
+        } else if (!isProgressive) {
+            for (int count = mManager.getRowCount(), i = 0; i < count; i++) {
+                int item = mAdapter.getRowHeight(i);
+                mManager.putRowHeight(i, item);
+            }
         }
 
         // set header's width and height. Set 0 in case < 0
@@ -270,6 +596,12 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         // start calculating full width and full height
         mManager.invalidate();
 
+        if (isProgressive && (uniformRowHeight == 0 || uniformColumnWidth == 0)) {
+            // visible items will be loaded before showing, the rest ones - between frames
+            mSizesLoader.start(uniformRowHeight == 0 ? mManager.getRowCount() : 0,
+                    uniformColumnWidth == 0 ? mManager.getColumnCount() : 0);
+        }
+
         // show items in this area
         mVisibleArea.set(mState.getScrollX(),
                 mState.getScrollY(),
@@ -284,6 +616,32 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         }
     }
 
+    /**
+     * @return average width of a few columns, at least 1
+     */
+    private int estimateColumnWidth() {
+        int count = mAdapter.getColumnCount() - 1;
+        int samples = Math.min(count, SIZE_ESTIMATE_SAMPLES);
+        long width = 0;
+        for (int i = 0; i < samples; i++) {
+            width += mAdapter.getColumnWidth((int) ((long) i * count / samples));
+        }
+        return samples > 0 ? Math.max(1, (int) (width / samples)) : 1;
+    }
+
+    /**
+     * @return average height of a few rows, at least 1
+     */
+    private int estimateRowHeight() {
+        int count = mAdapter.getRowCount() - 1;
+        int samples = Math.min(count, SIZE_ESTIMATE_SAMPLES);
+        long height = 0;
+        for (int i = 0; i < samples; i++) {
+            height += mAdapter.getRowHeight((int) ((long) i * count / samples));
+        }
+        return samples > 0 ? Math.max(1, (int) (height / samples)) : 1;
+    }
+
     /**
      * Set adapter with IMMUTABLE data.
      * Create wrapper with links between layout rows, columns and data rows, columns.
@@ -367,6 +725,129 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
                 Collections.<Integer, Integer>emptyMap();
     }
 
+    /**
+     * Change width of the column without full layout invalidation.
+     * Only view holders of this column are measured again, other visible view holders are just moved.
+     * Adapter should return the same width in {@link AdaptiveTableAdapter#getColumnWidth(int)},
+     * otherwise it will be restored on the next layout changes.
+     *
+     * @param column column index, the same as in {@link OnItemClickListener#onColumnHeaderClick(int)}
+     * @param width  new column's width
+     */
+    @SuppressWarnings("unchecked")
+    public void setColumnWidth(int column, int width) {
+        if (mAdapter == null || mSettings.getLayoutWidth() == 0 || mSettings.getLayoutHeight() == 0) {
+            // items will be initialized with adapter's width
+            return;
+        }
+        int tempColumn = mAdapter instanceof LinkedAdaptiveTableAdapterImpl
+                ? ((LinkedAdaptiveTableAdapterImpl) mAdapter).columnIdToIndex(column) - 1
+                : column;
+        int layoutColumn = getBindColumn(tempColumn);
+        // prevent overriding by progressive loading
+        mSizesLoader.ensureColumnLoaded(layoutColumn);
+        int oldEmptySpace = getEmptySpace();
+        mManager.setColumnWidth(layoutColumn, width);
+
+        // measure column's view holders
+        mViewHolders.forEachInColumn(layoutColumn, mMeasureItemVisitor);
+        ViewHolder header = mHeaderColumnViewHolders.get(layoutColumn);
+        if (header != null) {
+            measureViewHolder(header, width, mManager.getHeaderColumnHeight());
+        }
+        // keep scroll position in the new bounds
+        scrollBy(0, 0);
+        // empty space of RTL layout moves all columns
+        boolean isAllShifted = oldEmptySpace != 0 || getEmptySpace() != 0;
+        refreshShiftedViewHolders(Integer.MAX_VALUE, isAllShifted ? 0 : layoutColumn);
+    }
+
+    /**
+     * Change height of the row without full layout invalidation.
+     * Only view holders of this row are measured again, other visible view holders are just moved.
+     * Adapter should return the same height in {@link AdaptiveTableAdapter#getRowHeight(int)},
+     * otherwise it will be restored on the next layout changes.
+     *
+     * @param row    row index, the same as in {@link OnItemClickListener#onRowHeaderClick(int)}
+     * @param height new row's height
+     */
+    @SuppressWarnings("unchecked")
+    public void setRowHeight(int row, int height) {
+        if (mAdapter == null || mSettings.getLayoutWidth() == 0 || mSettings.getLayoutHeight() == 0) {
+            // items will be initialized with adapter's height
+            return;
+        }
+        int layoutRow = row;
+        if (mAdapter instanceof LinkedAdaptiveTableAdapterImpl) {
+            // the same mapping as in row header's click
+            layoutRow = (mSettings.isSolidRowHeader()
+                    ? ((LinkedAdaptiveTableAdapterImpl) mAdapter).rowIdToIndex(row)
+                    : row) - 1;
+        }
+        // prevent overriding by progressive loading
+        mSizesLoader.ensureRowLoaded(layoutRow);
+        mManager.setRowHeight(layoutRow, height);
+
+        // measure row's view holders
+        mViewHolders.forEachInRow(layoutRow, mMeasureItemVisitor);
+        ViewHolder header = mHeaderRowViewHolders.get(layoutRow);
+        if (header != null) {
+            measureViewHolder(header, mManager.getHeaderRowWidth(), height);
+        }
+        // keep scroll position in the new bounds
+        scrollBy(0, 0);
+        refreshShiftedViewHolders(layoutRow, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Move view holders after size change of the row or column, view holders before it keep their positions.
+     * Then recycle and add view holders like after scroll.
+     *
+     * @param fromRow    first moved row
+     * @param fromColumn first moved column
+     */
+    private void refreshShiftedViewHolders(int fromRow, int fromColumn) {
+        mShiftedRow = fromRow;
+        mShiftedColumn = fromColumn;
+        mViewHolders.forEach(mRefreshShiftedItemVisitor);
+        for (int count = mHeaderRowViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderRowViewHolders.valueAt(i);
+            if (holder != null && holder.getRowIndex() >= fromRow) {
+                refreshHeaderRowViewHolder(holder);
+            }
+        }
+        for (int count = mHeaderColumnViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderColumnViewHolders.valueAt(i);
+            if (holder != null && holder.getColumnIndex() >= fromColumn) {
+                refreshHeaderColumnViewHolder(holder);
+            }
+        }
+        // the size changes visible range like a scroll
+        if (mIsVisibleRangeValid && !mState.isDragging()) {
+            scrollViewHolders();
+        } else {
+            refreshVisibleArea();
+        }
+    }
+
+    /**
+     * Recycle invisible view holders, add new ones and refresh positions of all view holders
+     * using current scroll position.
+     */
+    private void refreshVisibleArea() {
+        refreshLayers();
+        mVisibleArea.set(mState.getScrollX(),
+                mState.getScrollY(),
+                mState.getScrollX() + mSettings.getLayoutWidth(),
+                mState.getScrollY() + mSettings.getLayoutHeight());
+        calculateVisibleRange(mVisibleArea);
+        recycleViewHolders();
+        addViewHolders();
+        refreshViewHolders();
+        // dragging view holders can be out of the visible range
+        mIsVisibleRangeValid = !mState.isDragging();
+    }
+
     @Override
     public void scrollTo(int x, int y) {
         scrollBy(x, y);
@@ -374,12 +855,24 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
     @Override
     public void scrollBy(int x, int y) {
+        long startTime = mMetricsRecorder.startScroll(x != 0 || y != 0);
+        updateScroll(x, y);
+        mMetricsRecorder.finishScroll(startTime);
+    }
+
+    /**
+     * Move the viewport by the distance and update view holders.
+     *
+     * @param x distance along X axis
+     * @param y distance along Y axis
+     */
+    private void updateScroll(int x, int y) {
         // block scroll one axle
         int tempX = mState.isRowDragging() ? 0 : x;
         int tempY = mState.isColumnDragging() ? 0 : y;
 
-        int diffX = tempX;
-        int diffY = tempY;
+        int oldScrollX = mState.getScrollX();
+        int oldScrollY = mState.getScrollY();
 
         int shadowShiftX = mManager.getColumnCount() * mSettings.getCellMargin();
         int shadowShiftY = mManager.getRowCount() * mSettings.getCellMargin();
@@ -389,51 +882,199 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
         if (mState.getScrollX() + tempX <= 0) {
             // scroll over view to the left
-            diffX = mState.getScrollX();
             mState.setScrollX(0);
         } else if (mSettings.getLayoutWidth() > maxX) {
             // few items and we have free space.
-            diffX = 0;
             mState.setScrollX(0);
         } else if (mState.getScrollX() + mSettings.getLayoutWidth() + tempX > maxX) {
             // scroll over view to the right
-            diffX = (int) (maxX - mState.getScrollX() - mSettings.getLayoutWidth());
-
-            mState.setScrollX(mState.getScrollX() + diffX);
+            mState.setScrollX((int) (maxX - mSettings.getLayoutWidth()));
         } else {
             mState.setScrollX(mState.getScrollX() + tempX);
         }
 
         if (mState.getScrollY() + tempY <= 0) {
             // scroll over view to the top
-            diffY = mState.getScrollY();
             mState.setScrollY(0);
         } else if (mSettings.getLayoutHeight() > maxY) {
             // few items and we have free space.
-            diffY = 0;
             mState.setScrollY(0);
         } else if (mState.getScrollY() + mSettings.getLayoutHeight() + tempY > maxY) {
             // scroll over view to the bottom
-            diffY = (int) (maxY - mState.getScrollY() - mSettings.getLayoutHeight());
-            mState.setScrollY(mState.getScrollY() + diffY);
+            mState.setScrollY((int) (maxY - mSettings.getLayoutHeight()));
         } else {
             mState.setScrollY(mState.getScrollY() + tempY);
         }
 
+        if (mAdapter != null) {
+            // move layer's content
+            refreshLayers();
+        }
+
+        int diffX = mState.getScrollX() - oldScrollX;
+        int diffY = mState.getScrollY() - oldScrollY;
         if (diffX == 0 && diffY == 0) {
             return;
         }
+        mPrefetcher.setDirection(diffX, diffY);
 
         if (mAdapter != null) {
             // refresh views
+            if (mIsVisibleRangeValid && !mState.isDragging()) {
+                scrollViewHolders();
+            } else {
+                refreshVisibleArea();
+            }
+            bindPlaceholdersIfSlow();
+        }
+    }
+
+    /**
+     * Update view holders after scroll. Recycles only rows and columns which left visible area
+     * and adds only rows and columns which entered it. Other view holders are moved with their layers.
+     */
+    private void scrollViewHolders() {
+        int oldFirstRow = mFirstVisibleRow;
+        int oldLastRow = mLastVisibleRow;
+        int oldFirstColumn = mFirstVisibleColumn;
+        int oldLastColumn = mLastVisibleColumn;
+
+        mVisibleArea.set(mState.getScrollX(),
+                mState.getScrollY(),
+                mState.getScrollX() + mSettings.getLayoutWidth(),
+                mState.getScrollY() + mSettings.getLayoutHeight());
+        if (calculateVisibleRange(mVisibleArea)) {
+            // loaded sizes moved view holders, refresh all of them
             recycleViewHolders();
-            mVisibleArea.set(mState.getScrollX(),
-                    mState.getScrollY(),
-                    mState.getScrollX() + mSettings.getLayoutWidth(),
-                    mState.getScrollY() + mSettings.getLayoutHeight());
-            addViewHolders(mVisibleArea);
+            addViewHolders();
             refreshViewHolders();
+            return;
+        }
+
+        // recycle rows and columns which left visible area
+        for (int i = oldFirstRow; i <= oldLastRow; i++) {
+            boolean isRowVisible = i >= mFirstVisibleRow && i <= mLastVisibleRow;
+            for (int j = oldFirstColumn; j <= oldLastColumn; j++) {
+                if (!isRowVisible || j < mFirstVisibleColumn || j > mLastVisibleColumn) {
+                    ViewHolder holder = mViewHolders.get(i, j);
+                    if (holder != null) {
+                        mViewHolders.remove(i, j);
+                        recycleViewHolder(holder);
+                    }
+                }
+            }
+            if (!isRowVisible) {
+                ViewHolder holder = mHeaderRowViewHolders.get(i);
+                if (holder != null) {
+                    mHeaderRowViewHolders.remove(i);
+                    recycleViewHolder(holder);
+                }
+            }
+        }
+        for (int i = oldFirstColumn; i <= oldLastColumn; i++) {
+            if (i < mFirstVisibleColumn || i > mLastVisibleColumn) {
+                ViewHolder holder = mHeaderColumnViewHolders.get(i);
+                if (holder != null) {
+                    mHeaderColumnViewHolders.remove(i);
+                    recycleViewHolder(holder);
+                }
+            }
+        }
+
+        // add rows and columns which entered visible area
+        mViewHolders.setWindow(mFirstVisibleRow, mLastVisibleRow, mFirstVisibleColumn, mLastVisibleColumn);
+        for (int i = mFirstVisibleRow; i <= mLastVisibleRow; i++) {
+            boolean isRowAdded = i < oldFirstRow || i > oldLastRow;
+            for (int j = mFirstVisibleColumn; j <= mLastVisibleColumn; j++) {
+                if (isRowAdded || j < oldFirstColumn || j > oldLastColumn) {
+                    addViewHolder(i, j, ViewHolderType.ITEM);
+                }
+            }
+            if (isRowAdded) {
+                addViewHolder(i, isRTL() ? mManager.getColumnCount() : 0, ViewHolderType.ROW_HEADER);
+            }
+        }
+        for (int i = mFirstVisibleColumn; i <= mLastVisibleColumn; i++) {
+            if (i < oldFirstColumn || i > oldLastColumn) {
+                addViewHolder(0, i, ViewHolderType.COLUMN_HEADER);
+            }
+        }
+
+        // headers shadows depend on scroll position
+        refreshShadows();
+    }
+
+    /**
+     * Update bounds of the layers and move their content using current scroll position.
+     * Fixed headers are moved only along their axis.
+     */
+    private void refreshLayers() {
+        int scrollX = mState.getScrollX();
+        int scrollY = mState.getScrollY();
+        boolean isHeaderFixed = mSettings.isHeaderFixed();
+        int headerFixedX = isHeaderFixed ? getRowHeaderStartX() : scrollX;
+        int headerFixedY = isHeaderFixed ? 0 : scrollY;
+
+        int itemsAndColumnsLeft = !isRTL()
+                ? Math.max(0, mManager.getHeaderRowWidth() - headerFixedX)
+                : 0;
+
+        int itemsAndColumnsRight = mSettings.getLayoutWidth();
+        if (isRTL()) {
+            itemsAndColumnsRight += mSettings.getCellMargin()
+                    - mManager.getHeaderRowWidth() * (isHeaderFixed ? 1 : 0);
+        }
+        int headersBottom = Math.max(0, mManager.getHeaderColumnHeight() - headerFixedY);
+
+        // area for items (cells in table)
+        mItemsLayer.update(
+                itemsAndColumnsLeft,
+                headersBottom,
+                itemsAndColumnsRight,
+                mSettings.getLayoutHeight(),
+                -scrollX,
+                -scrollY);
+        // area for row headers
+        mRowHeadersLayer.update(
+                getRowHeaderStartX() - mSettings.getCellMargin() * (isRTL() ? 0 : 1),
+                headersBottom,
+                Math.max(0, getRowHeaderStartX() + mManager.getHeaderRowWidth() + mSettings.getCellMargin()),
+                mSettings.getLayoutHeight(),
+                isHeaderFixed ? 0 : -scrollX,
+                -scrollY);
+        // area for column headers
+        mColumnHeadersLayer.update(
+                itemsAndColumnsLeft,
+                0,
+                itemsAndColumnsRight,
+                headersBottom,
+                -scrollX,
+                isHeaderFixed ? 0 : -scrollY);
+        // area for left top header
+        mLeftTopHeaderLayer.update(
+                !isRTL() ? 0 : getRowHeaderStartX(),
+                0,
+                !isRTL()
+                        ? Math.max(0, mManager.getHeaderRowWidth() - headerFixedX)
+                        : Math.max(0, getRowHeaderStartX() + mManager.getHeaderRowWidth()),
+                headersBottom,
+                isHeaderFixed ? 0 : -scrollX,
+                isHeaderFixed ? 0 : -scrollY);
+    }
+
+    /**
+     * @param itemType view holder type
+     * @return layer with views of this type
+     */
+    private TableLayer getLayer(int itemType) {
+        if (itemType == ViewHolderType.ITEM) {
+            return mItemsLayer;
+        } else if (itemType == ViewHolderType.ROW_HEADER) {
+            return mRowHeadersLayer;
+        } else if (itemType == ViewHolderType.COLUMN_HEADER) {
+            return mColumnHeadersLayer;
         }
+        return mLeftTopHeaderLayer;
     }
 
     /**
@@ -442,12 +1083,8 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     private void refreshViewHolders() {
         if (mAdapter != null) {
 
-            for (ViewHolder holder : mViewHolders.getAll()) {
-                if (holder != null) {
-                    // cell item
-                    refreshItemViewHolder(holder, mState.isRowDragging(), mState.isColumnDragging());
-                }
-            }
+            // cell items
+            mViewHolders.forEach(mRefreshItemVisitor);
 
             if (mState.isColumnDragging()) {
                 refreshAllColumnHeadersHolders();
@@ -459,18 +1096,38 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
             if (mLeftTopViewHolder != null) {
                 refreshLeftTopHeaderViewHolder(mLeftTopViewHolder);
-                mLeftTopViewHolder.getItemView().bringToFront();
             }
+            refreshShadows();
+        }
+    }
 
-
+    /**
+     * Refresh headers shadows and drag and drop shadows once after view holders are moved.
+     */
+    private void refreshShadows() {
+        if (mHeaderColumnViewHolders.size() > 0 && !mState.isColumnDragging()) {
+            refreshColumnsHeadersShadow();
+        }
+        if (mHeaderRowViewHolders.size() > 0 && !mState.isRowDragging()) {
+            refreshRowsHeadersShadow();
+        }
+        if (mState.isColumnDragging()) {
+            ViewHolder holder = mHeaderColumnViewHolders.get(mState.getColumnDraggingIndex());
+            if (holder != null) {
+                refreshColumnDragShadows(holder);
+            }
+        } else if (mState.isRowDragging()) {
+            ViewHolder holder = mHeaderRowViewHolders.get(mState.getRowDraggingIndex());
+            if (holder != null) {
+                refreshRowDragShadows(holder);
+            }
         }
+        invalidate();
     }
 
     private void refreshAllColumnHeadersHolders() {
-        for (int count = mHeaderColumnViewHolders.size(), i = 0; i < count; i++) {
-            int key = mHeaderColumnViewHolders.keyAt(i);
-            // get the object by the key.
-            ViewHolder holder = mHeaderColumnViewHolders.get(key);
+        for (int count = mHeaderColumnViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderColumnViewHolders.valueAt(i);
             if (holder != null) {
                 // column header
                 refreshHeaderColumnViewHolder(holder);
@@ -479,10 +1136,8 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     }
 
     private void refreshAllRowHeadersHolders() {
-        for (int count = mHeaderRowViewHolders.size(), i = 0; i < count; i++) {
-            int key = mHeaderRowViewHolders.keyAt(i);
-            // get the object by the key.
-            ViewHolder holder = mHeaderRowViewHolders.get(key);
+        for (int count = mHeaderRowViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderRowViewHolders.valueAt(i);
             if (holder != null) {
                 // column header
                 refreshHeaderRowViewHolder(holder);
@@ -510,11 +1165,9 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             if (!isRTL()) {
                 left -= mManager.getHeaderRowWidth();
             }
-            view.bringToFront();
         } else if (isRowDragging && holder.isDragging() && mDragAndDropPoints.getOffset().y > 0) {
             // visible dragging row. Calculate top offset using drag and drop points.
             top = mState.getScrollY() + mDragAndDropPoints.getOffset().y - view.getHeight() / 2 - mManager.getHeaderColumnHeight();
-            view.bringToFront();
         }
         int leftMargin = holder.getColumnIndex() * mSettings.getCellMargin() + mSettings.getCellMargin();
         int topMargin = holder.getRowIndex() * mSettings.getCellMargin() + mSettings.getCellMargin();
@@ -530,7 +1183,7 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         int viewPosBottom = viewPosTop + mManager.getRowHeight(holder.getRowIndex());
 
         // update layout position
-        view.layout(viewPosLeft, viewPosTop, viewPosRight, viewPosBottom);
+        mItemsLayer.layoutChild(view, viewPosLeft, viewPosTop, viewPosRight, viewPosBottom);
     }
 
     /**
@@ -561,32 +1214,6 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
         if (holder.isDragging() && mDragAndDropPoints.getOffset().x > 0) {
             left = mState.getScrollX() + mDragAndDropPoints.getOffset().x - view.getWidth() / 2;
-            view.bringToFront();
-        }
-
-        if (holder.isDragging()) {
-            View leftShadow = mShadowHelper.getLeftShadow();
-            View rightShadow = mShadowHelper.getRightShadow();
-
-            if (leftShadow != null) {
-                int shadowLeft = left - mState.getScrollX();
-                leftShadow.layout(
-                        Math.max(mManager.getHeaderRowWidth() - mState.getScrollX(), shadowLeft - SHADOW_THICK) + leftMargin,
-                        0,
-                        shadowLeft + leftMargin,
-                        mSettings.getLayoutHeight());
-                leftShadow.bringToFront();
-            }
-
-            if (rightShadow != null) {
-                int shadowLeft = left + mManager.getColumnWidth(holder.getColumnIndex()) - mState.getScrollX();
-                rightShadow.layout(
-                        Math.max(mManager.getHeaderRowWidth() - mState.getScrollX(), shadowLeft) + leftMargin,
-                        0,
-                        shadowLeft + SHADOW_THICK + leftMargin,
-                        mSettings.getLayoutHeight());
-                rightShadow.bringToFront();
-            }
         }
 
         int viewPosLeft = left - mState.getScrollX() + leftMargin;
@@ -594,32 +1221,65 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         int viewPosTop = top + topMargin;
         int viewPosBottom = viewPosTop + mManager.getHeaderColumnHeight();
         //noinspection ResourceType
-        view.layout(viewPosLeft,
+        mColumnHeadersLayer.layoutChild(view,
+                viewPosLeft,
                 viewPosTop,
                 viewPosRight,
                 viewPosBottom);
+    }
 
-        if (mState.isRowDragging()) {
-            view.bringToFront();
+    /**
+     * Refresh shadows near dragging column.
+     *
+     * @param holder dragging column header view holder
+     */
+    private void refreshColumnDragShadows(ViewHolder holder) {
+        int left = getEmptySpace() + mManager.getColumnsWidth(0, Math.max(0, holder.getColumnIndex()));
+        if (!isRTL()) {
+            left += mManager.getHeaderRowWidth();
+        }
+        if (mDragAndDropPoints.getOffset().x > 0) {
+            left = mState.getScrollX() + mDragAndDropPoints.getOffset().x - holder.getItemView().getWidth() / 2;
         }
+        int leftMargin = holder.getColumnIndex() * mSettings.getCellMargin() + mSettings.getCellMargin();
+        Drawable leftShadow = mShadowHelper.getLeftShadow();
+        Drawable rightShadow = mShadowHelper.getRightShadow();
 
-        if (!mState.isColumnDragging()) {
-            View shadow = mShadowHelper.getColumnsHeadersShadow();
+        if (leftShadow != null) {
+            int shadowLeft = left - mState.getScrollX();
+            leftShadow.setBounds(
+                    Math.max(mManager.getHeaderRowWidth() - mState.getScrollX(), shadowLeft - SHADOW_THICK) + leftMargin,
+                    0,
+                    shadowLeft + leftMargin,
+                    mSettings.getLayoutHeight());
+        }
 
-            if (shadow == null) {
-                shadow = mShadowHelper.addColumnsHeadersShadow(this);
-            }
+        if (rightShadow != null) {
+            int shadowLeft = left + mManager.getColumnWidth(holder.getColumnIndex()) - mState.getScrollX();
+            rightShadow.setBounds(
+                    Math.max(mManager.getHeaderRowWidth() - mState.getScrollX(), shadowLeft) + leftMargin,
+                    0,
+                    shadowLeft + SHADOW_THICK + leftMargin,
+                    mSettings.getLayoutHeight());
+        }
+    }
 
-            //noinspection ResourceType
-            shadow.layout(mState.isRowDragging() ? 0 :
-                            mSettings.isHeaderFixed() ? 0 : -mState.getScrollX(),
-                    top + mManager.getHeaderColumnHeight(),
-                    mSettings.getLayoutWidth(),
-                    top + mManager.getHeaderColumnHeight() + SHADOW_HEADERS_THICK);
+    /**
+     * Refresh shadow under column's headers.
+     */
+    private void refreshColumnsHeadersShadow() {
+        int top = mSettings.isHeaderFixed() ? 0 : -mState.getScrollY();
+        Drawable shadow = mShadowHelper.getColumnsHeadersShadow();
 
-            shadow.bringToFront();
+        if (shadow == null) {
+            shadow = mShadowHelper.addColumnsHeadersShadow(this);
         }
 
+        shadow.setBounds(mState.isRowDragging() ? 0 :
+                        mSettings.isHeaderFixed() ? 0 : -mState.getScrollX(),
+                top + mManager.getHeaderColumnHeight(),
+                mSettings.getLayoutWidth(),
+                top + mManager.getHeaderColumnHeight() + SHADOW_HEADERS_THICK);
     }
 
     /**
@@ -640,62 +1300,71 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
         if (holder.isDragging() && mDragAndDropPoints.getOffset().y > 0) {
             top = mState.getScrollY() + mDragAndDropPoints.getOffset().y - view.getHeight() / 2;
-            view.bringToFront();
-        }
-        if (holder.isDragging()) {
-            View topShadow = mShadowHelper.getTopShadow();
-            View bottomShadow = mShadowHelper.getBottomShadow();
-
-            if (topShadow != null) {
-                int shadowTop = top - mState.getScrollY();
-                topShadow.layout(0,
-                        Math.max(mManager.getHeaderColumnHeight() - mState.getScrollY(), shadowTop - SHADOW_THICK) + topMargin,
-                        mSettings.getLayoutWidth(),
-                        shadowTop + topMargin);
-                topShadow.bringToFront();
-            }
-
-            if (bottomShadow != null) {
-                int shadowBottom = top - mState.getScrollY() + mManager.getRowHeight(holder.getRowIndex());
-                bottomShadow.layout(
-                        0,
-                        Math.max(mManager.getHeaderColumnHeight() - mState.getScrollY(), shadowBottom) + topMargin,
-                        mSettings.getLayoutWidth(),
-                        shadowBottom + SHADOW_THICK + topMargin);
-
-                bottomShadow.bringToFront();
-            }
         }
 
         //noinspection ResourceType
-        view.layout(left + leftMargin * (isRTL() ? 0 : 1),
+        mRowHeadersLayer.layoutChild(view,
+                left + leftMargin * (isRTL() ? 0 : 1),
                 top - mState.getScrollY() + topMargin,
                 left + mManager.getHeaderRowWidth() + leftMargin * (isRTL() ? 1 : 0),
                 top + mManager.getRowHeight(holder.getRowIndex()) - mState.getScrollY() + topMargin);
+    }
 
-        if (mState.isColumnDragging()) {
-            view.bringToFront();
+    /**
+     * Refresh shadows near dragging row.
+     *
+     * @param holder dragging row header view holder
+     */
+    private void refreshRowDragShadows(ViewHolder holder) {
+        int top = mManager.getRowsHeight(0, Math.max(0, holder.getRowIndex())) + mManager.getHeaderColumnHeight();
+        if (mDragAndDropPoints.getOffset().y > 0) {
+            top = mState.getScrollY() + mDragAndDropPoints.getOffset().y - holder.getItemView().getHeight() / 2;
         }
+        int topMargin = holder.getRowIndex() * mSettings.getCellMargin() + mSettings.getCellMargin();
+        Drawable topShadow = mShadowHelper.getTopShadow();
+        Drawable bottomShadow = mShadowHelper.getBottomShadow();
 
-        if (!mState.isRowDragging()) {
-            View shadow = mShadowHelper.getRowsHeadersShadow();
-
-            if (shadow == null) {
-                shadow = mShadowHelper.addRowsHeadersShadow(this);
-            }
+        if (topShadow != null) {
+            int shadowTop = top - mState.getScrollY();
+            topShadow.setBounds(0,
+                    Math.max(mManager.getHeaderColumnHeight() - mState.getScrollY(), shadowTop - SHADOW_THICK) + topMargin,
+                    mSettings.getLayoutWidth(),
+                    shadowTop + topMargin);
+        }
 
-            int shadowStart, shadowEnd;
-            shadowStart = !isRTL() ? view.getRight() : view.getLeft() - SHADOW_HEADERS_THICK;
-            shadowEnd = shadowStart + SHADOW_HEADERS_THICK;
+        if (bottomShadow != null) {
+            int shadowBottom = top - mState.getScrollY() + mManager.getRowHeight(holder.getRowIndex());
+            bottomShadow.setBounds(
+                    0,
+                    Math.max(mManager.getHeaderColumnHeight() - mState.getScrollY(), shadowBottom) + topMargin,
+                    mSettings.getLayoutWidth(),
+                    shadowBottom + SHADOW_THICK + topMargin);
+        }
+    }
 
-            shadow.layout(shadowStart,
-                    mState.isColumnDragging() ? 0 :
-                            mSettings.isHeaderFixed() ? 0 : -mState.getScrollY(),
-                    shadowEnd,
-                    mSettings.getLayoutHeight());
+    /**
+     * Refresh shadow near row's headers.
+     */
+    private void refreshRowsHeadersShadow() {
+        Drawable shadow = mShadowHelper.getRowsHeadersShadow();
 
-            shadow.bringToFront();
+        if (shadow == null) {
+            shadow = mShadowHelper.addRowsHeadersShadow(this);
         }
+
+        // row header's side near items
+        int left = calculateRowHeadersLeft();
+        int shadowStart, shadowEnd;
+        shadowStart = !isRTL()
+                ? left + mManager.getHeaderRowWidth()
+                : left - SHADOW_HEADERS_THICK;
+        shadowEnd = shadowStart + SHADOW_HEADERS_THICK;
+
+        shadow.setBounds(shadowStart,
+                mState.isColumnDragging() ? 0 :
+                        mSettings.isHeaderFixed() ? 0 : -mState.getScrollY(),
+                shadowEnd,
+                mSettings.getLayoutHeight());
     }
 
     /**
@@ -714,7 +1383,8 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         int leftMargin = isRTL() ? 0 : mSettings.getCellMargin();
         int topMargin = mSettings.getCellMargin();
 
-        view.layout(left + leftMargin,
+        mLeftTopHeaderLayer.layoutChild(view,
+                left + leftMargin,
                 top + topMargin,
                 left + mManager.getHeaderRowWidth() + leftMargin,
                 top + mManager.getHeaderColumnHeight() + topMargin);
@@ -752,101 +1422,159 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     }
 
     /**
-     * Recycle view holders outside screen
+     * Recycle view holders outside visible rows and columns
      *
      * @param isRecycleAll recycle all view holders if true
      */
     private void recycleViewHolders(boolean isRecycleAll) {
+        if (isRecycleAll) {
+            mIsVisibleRangeValid = false;
+        }
 
         if (mAdapter == null) {
             return;
         }
 
-        final List<Integer> headerKeysToRemove = new ArrayList<>();
-
         // item view holders
-        for (ViewHolder holder : mViewHolders.getAll()) {
-            if (holder != null && !holder.isDragging()) {
-                View view = holder.getItemView();
-                // recycle view holder
-                if (isRecycleAll
-                        || (view.getRight() < 0
-                        || view.getLeft() > mSettings.getLayoutWidth()
-                        || view.getBottom() < 0
-                        || view.getTop() > mSettings.getLayoutHeight())) {
-                    // recycle view holder
-                    mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
-                    recycleViewHolder(holder);
-                }
-            }
-        }
-        if (!headerKeysToRemove.isEmpty()) {
-            headerKeysToRemove.clear();
-        }
-        // column header view holders
-        for (int count = mHeaderColumnViewHolders.size(), i = 0; i < count; i++) {
-            int key = mHeaderColumnViewHolders.keyAt(i);
-            // get the object by the key.
-            ViewHolder holder = mHeaderColumnViewHolders.get(key);
-            if (holder != null) {
-                View view = holder.getItemView();
-                // recycle view holder
-                if (isRecycleAll
-                        || view.getRight() < 0
-                        || view.getLeft() > mSettings.getLayoutWidth()) {
-                    headerKeysToRemove.add(key);
-                    recycleViewHolder(holder);
-                }
+        mViewHolders.forEach(isRecycleAll ? mRecycleItemVisitor : mRecycleInvisibleItemVisitor);
+
+        // column header view holders. Removing keeps other slots, so they can be removed while iterating
+        for (int count = mHeaderColumnViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderColumnViewHolders.valueAt(i);
+            if (holder != null
+                    && (isRecycleAll
+                    || holder.getColumnIndex() < mFirstVisibleColumn
+                    || holder.getColumnIndex() > mLastVisibleColumn)) {
+                mHeaderColumnViewHolders.removeAt(i);
+                recycleViewHolder(holder);
             }
         }
 
-        removeKeys(headerKeysToRemove, mHeaderColumnViewHolders);
-
-        if (!headerKeysToRemove.isEmpty()) {
-            headerKeysToRemove.clear();
-        }
         // row header view holders
-        for (int count = mHeaderRowViewHolders.size(), i = 0; i < count; i++) {
-            int key = mHeaderRowViewHolders.keyAt(i);
-            // get the object by the key.
-            ViewHolder holder = mHeaderRowViewHolders.get(key);
-            if (holder != null && !holder.isDragging()) {
-                View view = holder.getItemView();
-                // recycle view holder
-                if (isRecycleAll
-                        || view.getBottom() < 0
-                        || view.getTop() > mSettings.getLayoutHeight()) {
-                    headerKeysToRemove.add(key);
-                    recycleViewHolder(holder);
-                }
+        for (int count = mHeaderRowViewHolders.capacity(), i = 0; i < count; i++) {
+            ViewHolder holder = mHeaderRowViewHolders.valueAt(i);
+            if (holder != null && !holder.isDragging()
+                    && (isRecycleAll
+                    || holder.getRowIndex() < mFirstVisibleRow
+                    || holder.getRowIndex() > mLastVisibleRow)) {
+                mHeaderRowViewHolders.removeAt(i);
+                recycleViewHolder(holder);
             }
         }
 
-        removeKeys(headerKeysToRemove, mHeaderRowViewHolders);
+        if (isRecycleAll) {
+            releaseCachedViewHolders();
+        }
+    }
+
+
+    /**
+     * Hide view holder which left visible area. It is kept attached and bound in the cache,
+     * the oldest cached view holders are recycled.
+     *
+     * @param holder view holder to recycle
+     */
+    private void recycleViewHolder(ViewHolder holder) {
+        hideViewHolder(holder, mViewHolderCache);
     }
 
+    /**
+     * Keep view holder which was prefetched for the fling's end but isn't shown. It's the first one
+     * to be recycled, so it doesn't push recently hidden and prefetched view holders out of the cache.
+     *
+     * @param holder hidden view holder
+     */
+    private void keepLandingViewHolder(ViewHolder holder) {
+        mViewHolderCache.putOldest(holder);
+        ViewHolder overflow;
+        while ((overflow = mViewHolderCache.pollOverflow()) != null) {
+            releaseViewHolder(overflow);
+        }
+    }
 
     /**
-     * Remove recycled viewholders from sparseArray
+     * Hide view holder in the cache, the oldest cached view holders are recycled.
      *
-     * @param keysToRemove List of ViewHolders keys that we need to remove
-     * @param headers      SparseArray of viewHolders from where we need to remove
+     * @param holder view holder to hide
+     * @param cache  cache for the view holder
      */
-    private void removeKeys(List<Integer> keysToRemove, SparseArrayCompat<ViewHolder> headers) {
-        for (Integer key : keysToRemove) {
-            headers.remove(key);
+    private void hideViewHolder(ViewHolder holder, ViewHolderCache cache) {
+        holder.getItemView().setVisibility(INVISIBLE);
+        cache.put(holder);
+        ViewHolder overflow;
+        while ((overflow = cache.pollOverflow()) != null) {
+            releaseViewHolder(overflow);
         }
     }
 
     /**
-     * Recycle view holder and remove view from layout.
+     * Recycle view holder and detach view from layout.
      *
      * @param holder view holder to recycle
      */
-    private void recycleViewHolder(ViewHolder holder) {
+    private void releaseViewHolder(ViewHolder holder) {
+        TableLayer layer = getLayer(holder.getItemType());
+        layer.detachView(holder.getItemView());
+        if (mIsRecyclerShared) {
+            // view can be attached to other table, and item ids of its adapter are different
+            layer.removeDetachedView(holder.getItemView());
+            holder.setItemId(AdaptiveTableAdapter.NO_ID);
+        }
+        if (mAdapter != null && !isKeptForItem(holder)) {
+            mAdapter.onViewHolderRecycled(holder);
+        }
+        // can be evicted right now
         mRecycler.pushRecycledView(holder);
-        removeView(holder.getItemView());
-        mAdapter.onViewHolderRecycled(holder);
+    }
+
+    /**
+     * Recycled view holder with item id keeps content of its item, so it can be reused without binding.
+     * Adapter is notified about its recycling later, when it's bound to other item or released.
+     *
+     * @param holder recycled view holder
+     * @return true if view holder is kept for its item
+     */
+    private boolean isKeptForItem(ViewHolder holder) {
+        return holder.getItemId() != AdaptiveTableAdapter.NO_ID && !holder.isPlaceholder();
+    }
+
+    /**
+     * Notify adapter about recycling of view holder which was kept for its item.
+     *
+     * @param holder recycled view holder
+     */
+    private void releaseKeptViewHolder(ViewHolder holder) {
+        if (mAdapter != null && isKeptForItem(holder)) {
+            mAdapter.onViewHolderRecycled(holder);
+        }
+    }
+
+    /**
+     * Recycle all cached view holders. Call it when their data can be changed.
+     */
+    private void releaseCachedViewHolders() {
+        mViewHolderCache.removeAll(mReleaseViewHolderVisitor);
+        mLandingViewHolderCache.removeAll(mReleaseViewHolderVisitor);
+    }
+
+    private void releaseCachedColumn(int column) {
+        mViewHolderCache.removeColumn(column, mReleaseViewHolderVisitor);
+        mLandingViewHolderCache.removeColumn(column, mReleaseViewHolderVisitor);
+    }
+
+    private void releaseCachedRow(int row) {
+        mViewHolderCache.removeRow(row, mReleaseViewHolderVisitor);
+        mLandingViewHolderCache.removeRow(row, mReleaseViewHolderVisitor);
+    }
+
+    /**
+     * Recycle all cached view holders and forget items of all view holders, so they are bound again
+     * after recycling. Call it when adapter's data is changed.
+     */
+    private void invalidateRecycledViewHolders() {
+        releaseCachedViewHolders();
+        mViewHolders.forEach(mClearItemIdVisitor);
+        mRecycler.clearItemIds();
     }
 
 
@@ -864,11 +1592,52 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * @param filledArea visible rect
      */
     private void addViewHolders(Rect filledArea) {
-        //search indexes for columns and rows which NEED TO BE showed in this area
-        int leftColumn = mManager.getColumnByXWithShift(filledArea.left, mSettings.getCellMargin());
-        int rightColumn = mManager.getColumnByXWithShift(filledArea.right, mSettings.getCellMargin());
-        int topRow = mManager.getRowByYWithShift(filledArea.top, mSettings.getCellMargin());
-        int bottomRow = mManager.getRowByYWithShift(filledArea.bottom, mSettings.getCellMargin());
+        refreshLayers();
+        calculateVisibleRange(filledArea);
+        addViewHolders();
+    }
+
+    /**
+     * Search indexes for columns and rows which NEED TO BE showed in this area.
+     * In progressive layout mode loads sizes of these columns and rows.
+     *
+     * @param filledArea visible rect
+     * @return true if any size was loaded
+     */
+    private boolean calculateVisibleRange(Rect filledArea) {
+        boolean isSizesLoaded = false;
+        boolean isLoaded;
+        do {
+            mFirstVisibleColumn = mManager.getColumnByXWithShift(filledArea.left, mSettings.getCellMargin());
+            mLastVisibleColumn = mManager.getColumnByXWithShift(filledArea.right, mSettings.getCellMargin());
+            mFirstVisibleRow = mManager.getRowByYWithShift(filledArea.top, mSettings.getCellMargin());
+            mLastVisibleRow = mManager.getRowByYWithShift(filledArea.bottom, mSettings.getCellMargin());
+            // real sizes can change visible rows and columns, search them again
+            isLoaded = loadSizes(mFirstVisibleColumn, mLastVisibleColumn, mFirstVisibleRow, mLastVisibleRow);
+            isSizesLoaded |= isLoaded;
+        } while (isLoaded);
+        // keep a hidden strip and a prefetched strip of view holders for every scroll direction
+        mViewHolderCache.setMaxSize(
+                2 * (mLastVisibleRow - mFirstVisibleRow + mLastVisibleColumn - mFirstVisibleColumn + 2));
+        // by default pools keep enough view holders to fill visible area again
+        int rowCount = Math.max(0, mLastVisibleRow - mFirstVisibleRow + 1);
+        int columnCount = Math.max(0, mLastVisibleColumn - mFirstVisibleColumn + 1);
+        mRecycler.setDefaultMaxSize(ViewHolderType.ITEM, rowCount * columnCount);
+        mRecycler.setDefaultMaxSize(ViewHolderType.ROW_HEADER, rowCount);
+        mRecycler.setDefaultMaxSize(ViewHolderType.COLUMN_HEADER, columnCount);
+        return isSizesLoaded;
+    }
+
+    /**
+     * Create and add view holders with views for visible rows and columns.
+     */
+    private void addViewHolders() {
+        // visible view holders are stored in the dense part of the matrix
+        mViewHolders.setWindow(mFirstVisibleRow, mLastVisibleRow, mFirstVisibleColumn, mLastVisibleColumn);
+        int leftColumn = mFirstVisibleColumn;
+        int rightColumn = mLastVisibleColumn;
+        int topRow = mFirstVisibleRow;
+        int bottomRow = mLastVisibleRow;
 
         for (int i = topRow; i <= bottomRow; i++) {
             for (int j = leftColumn; j <= rightColumn; j++) {
@@ -904,11 +1673,9 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             mLeftTopViewHolder.setItemType(ViewHolderType.FIRST_HEADER);
             View view = mLeftTopViewHolder.getItemView();
             view.setTag(R.id.tag_view_holder, mLeftTopViewHolder);
-            addView(view, 0);
+            mLeftTopHeaderLayer.addView(view, 0);
             mAdapter.onBindLeftTopHeaderViewHolder(mLeftTopViewHolder);
-            view.measure(
-                    MeasureSpec.makeMeasureSpec(mManager.getHeaderRowWidth(), MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(mManager.getHeaderColumnHeight(), MeasureSpec.EXACTLY));
+            measureViewHolder(mLeftTopViewHolder, mManager.getHeaderRowWidth(), mManager.getHeaderColumnHeight());
 
             int viewPosLeft = mSettings.getCellMargin();
             if (isRTL()) {
@@ -918,13 +1685,34 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             int viewPosTop = mSettings.getCellMargin();
             int viewPosBottom = viewPosTop + mManager.getHeaderColumnHeight();
 
-            view.layout(viewPosLeft,
+            mLeftTopHeaderLayer.layoutChild(view,
+                    viewPosLeft,
                     viewPosTop,
                     viewPosRight,
                     viewPosBottom);
         } else if (mLeftTopViewHolder != null && mAdapter != null) {
             refreshLeftTopHeaderViewHolder(mLeftTopViewHolder);
         }
+        refreshShadows();
+    }
+
+    /**
+     * Load real sizes of rows and columns in progressive layout mode.
+     *
+     * @return true if any size was loaded
+     */
+    private boolean loadSizes(int leftColumn, int rightColumn, int topRow, int bottomRow) {
+        if (!mSizesLoader.isLoading()) {
+            return false;
+        }
+        boolean isLoaded = false;
+        for (int i = leftColumn; i <= rightColumn; i++) {
+            isLoaded |= mSizesLoader.ensureColumnLoaded(i);
+        }
+        for (int i = topRow; i <= bottomRow; i++) {
+            isLoaded |= mSizesLoader.ensureRowLoaded(i);
+        }
+        return isLoaded;
     }
 
     private int getBindColumn(int column) {
@@ -933,42 +1721,76 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
     @SuppressWarnings("unused")
     private void addViewHolder(int row, int column, int itemType) {
+        ViewHolder cachedViewHolder = mViewHolderCache.remove(itemType, row, column);
+        if (cachedViewHolder == null) {
+            cachedViewHolder = mLandingViewHolderCache.remove(itemType, row, column);
+        }
+        if (cachedViewHolder != null) {
+            // attached and bound already
+            mMetricsRecorder.addCachedViewHolder();
+            showCachedViewHolder(cachedViewHolder);
+            return;
+        }
+
         boolean createdNewView;
+        int viewType = 0;
+        long itemId = AdaptiveTableAdapter.NO_ID;
+        if (itemType == ViewHolderType.ITEM) {
+            viewType = mAdapter.getItemViewType(row, getBindColumn(column));
+            itemId = mAdapter.getItemId(row, getBindColumn(column));
+        }
         // need to add new one
-        ViewHolder viewHolder = mRecycler.popRecycledViewHolder(itemType);
+        ViewHolder viewHolder = mRecycler.popRecycledViewHolder(itemType, viewType, itemId);
         createdNewView = viewHolder == null;
         if (createdNewView) {
-            viewHolder = createViewHolder(itemType);
+            viewHolder = createViewHolder(itemType, viewType);
+            mMetricsRecorder.addCreatedViewHolder();
+        } else {
+            mMetricsRecorder.addRecycledViewHolder();
         }
 
         if (viewHolder == null) {
             return;
         }
+        // recycled view holder shows the same item's data
+        boolean isBound = !createdNewView && itemId != AdaptiveTableAdapter.NO_ID
+                && viewHolder.getItemId() == itemId && !viewHolder.isPlaceholder();
+        if (!isBound) {
+            // content of other item isn't kept anymore
+            releaseKeptViewHolder(viewHolder);
+        }
+        viewHolder.setItemId(itemId);
 
         // prepare view holder
         viewHolder.setRowIndex(row);
         viewHolder.setColumnIndex(column);
         viewHolder.setItemType(itemType);
+        viewHolder.setItemViewType(viewType);
         View view = viewHolder.getItemView();
 
         view.setTag(R.id.tag_view_holder, viewHolder);
-        // add view to the layout
-        addView(view, 0);
+        // add view to the layer. Recycled view can be detached from it
+        view.setVisibility(VISIBLE);
+        getLayer(itemType).addOrAttachView(view);
 
         // save and measure view holder
         if (itemType == ViewHolderType.ITEM) {
             mViewHolders.put(row, column, viewHolder);
+            boolean isPlaceholder = isPlaceholderBinding();
             if (createdNewView) {
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
-                mAdapter.onBindViewHolder(viewHolder, row, getBindColumn(column));
+                bindItemViewHolder(viewHolder, isPlaceholder);
             }
-            view.measure(
-                    MeasureSpec.makeMeasureSpec(mManager.getColumnWidth(column), MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(mManager.getRowHeight(row), MeasureSpec.EXACTLY));
+            measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getRowHeight(row));
             refreshItemViewHolder(viewHolder);
-            if (!createdNewView) {
+            if (!createdNewView && !isBound) {
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
-                mAdapter.onBindViewHolder(viewHolder, row, getBindColumn(column));
+                bindItemViewHolder(viewHolder, isPlaceholder);
+                if (view.isLayoutRequested()) {
+                    // content was changed by binding
+                    measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getRowHeight(row));
+                    refreshItemViewHolder(viewHolder);
+                }
             }
 
 
@@ -978,14 +1800,17 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
                 mAdapter.onBindHeaderRowViewHolder(viewHolder, row);
             }
-            view.measure(
-                    MeasureSpec.makeMeasureSpec(mManager.getHeaderRowWidth(), MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(mManager.getRowHeight(row), MeasureSpec.EXACTLY));
+            measureViewHolder(viewHolder, mManager.getHeaderRowWidth(), mManager.getRowHeight(row));
 
             refreshHeaderRowViewHolder(viewHolder);
             if (!createdNewView) {
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
                 mAdapter.onBindHeaderRowViewHolder(viewHolder, row);
+                if (view.isLayoutRequested()) {
+                    // content was changed by binding
+                    measureViewHolder(viewHolder, mManager.getHeaderRowWidth(), mManager.getRowHeight(row));
+                    refreshHeaderRowViewHolder(viewHolder);
+                }
             }
 
         } else if (itemType == ViewHolderType.COLUMN_HEADER) {
@@ -994,16 +1819,121 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
                 mAdapter.onBindHeaderColumnViewHolder(viewHolder, getBindColumn(column));
             }
-            view.measure(
-                    MeasureSpec.makeMeasureSpec(mManager.getColumnWidth(column), MeasureSpec.EXACTLY),
-                    MeasureSpec.makeMeasureSpec(mManager.getHeaderColumnHeight(), MeasureSpec.EXACTLY));
+            measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getHeaderColumnHeight());
 
             refreshHeaderColumnViewHolder(viewHolder);
 
             if (!createdNewView) {
                 // DO NOT REMOVE THIS!! Fix bug with request layout "requestLayout() improperly called"
                 mAdapter.onBindHeaderColumnViewHolder(viewHolder, getBindColumn(column));
+                if (view.isLayoutRequested()) {
+                    // content was changed by binding
+                    measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getHeaderColumnHeight());
+                    refreshHeaderColumnViewHolder(viewHolder);
+                }
+            }
+        }
+    }
+
+    /**
+     * Show view holder from the cache on its place.
+     *
+     * @param viewHolder cached view holder
+     */
+    private void showCachedViewHolder(ViewHolder viewHolder) {
+        viewHolder.getItemView().setVisibility(VISIBLE);
+        int row = viewHolder.getRowIndex();
+        int column = viewHolder.getColumnIndex();
+        if (viewHolder.getItemType() == ViewHolderType.ITEM) {
+            mViewHolders.put(row, column, viewHolder);
+            measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getRowHeight(row));
+            refreshItemViewHolder(viewHolder);
+            if (viewHolder.isPlaceholder() && !isPlaceholderBinding()) {
+                // fling is slow already
+                bindPlaceholderItem(viewHolder);
             }
+        } else if (viewHolder.getItemType() == ViewHolderType.ROW_HEADER) {
+            mHeaderRowViewHolders.put(row, viewHolder);
+            measureViewHolder(viewHolder, mManager.getHeaderRowWidth(), mManager.getRowHeight(row));
+            refreshHeaderRowViewHolder(viewHolder);
+        } else if (viewHolder.getItemType() == ViewHolderType.COLUMN_HEADER) {
+            mHeaderColumnViewHolders.put(column, viewHolder);
+            measureViewHolder(viewHolder, mManager.getColumnWidth(column), mManager.getHeaderColumnHeight());
+            refreshHeaderColumnViewHolder(viewHolder);
+        }
+    }
+
+    /**
+     * Bind item view holder with its item or with a placeholder of the item.
+     *
+     * @param holder        item view holder
+     * @param isPlaceholder true to bind a placeholder
+     */
+    private void bindItemViewHolder(ViewHolder holder, boolean isPlaceholder) {
+        int row = holder.getRowIndex();
+        int column = getBindColumn(holder.getColumnIndex());
+        long startTime = mMetricsRecorder.startBind();
+        if (isPlaceholder) {
+            mAdapter.onBindPlaceholderViewHolder(holder, row, column);
+            mHasPlaceholders = true;
+        } else {
+            mAdapter.onBindViewHolder(holder, row, column);
+        }
+        mMetricsRecorder.finishBind(holder.getItemViewType(), startTime);
+        holder.setIsPlaceholder(isPlaceholder);
+    }
+
+    /**
+     * Bind the item of visible placeholder view holder.
+     *
+     * @param holder item view holder bound as a placeholder
+     */
+    private void bindPlaceholderItem(ViewHolder holder) {
+        bindItemViewHolder(holder, false);
+        if (holder.getItemView().isLayoutRequested()) {
+            // content was changed by binding
+            measureViewHolder(holder, mManager.getColumnWidth(holder.getColumnIndex()),
+                    mManager.getRowHeight(holder.getRowIndex()));
+            refreshItemViewHolder(holder);
+        }
+    }
+
+    /**
+     * @return true if new items should be bound as placeholders because of the fast fling
+     */
+    private boolean isPlaceholderBinding() {
+        int velocity = mSettings.getPlaceholderFlingVelocity();
+        return velocity > 0 && !mIsPrefetching && mScrollerRunnable.getCurrVelocity() > velocity;
+    }
+
+    /**
+     * Start binding items of visible placeholders if the fling isn't fast anymore.
+     */
+    private void bindPlaceholdersIfSlow() {
+        if (mHasPlaceholders && !isPlaceholderBinding()) {
+            removeCallbacks(mBindPlaceholdersRunnable);
+            post(mBindPlaceholdersRunnable);
+        }
+    }
+
+    /**
+     * Measure view holder's view with exact size. Measure is skipped if the view was measured
+     * with the same size and its content wasn't changed after that.
+     *
+     * @param holder view holder
+     * @param width  view's width
+     * @param height view's height
+     */
+    private void measureViewHolder(ViewHolder holder, int width, int height) {
+        int widthMeasureSpec = MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY);
+        int heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+        View view = holder.getItemView();
+        if (widthMeasureSpec != holder.getWidthMeasureSpec()
+                || heightMeasureSpec != holder.getHeightMeasureSpec()
+                || view.isLayoutRequested()) {
+            view.measure(widthMeasureSpec, heightMeasureSpec);
+            holder.setMeasureSpecs(widthMeasureSpec, heightMeasureSpec);
+            mMetricsRecorder.addMeasure();
         }
     }
 
@@ -1011,12 +1941,13 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * Create view holder by type
      *
      * @param itemType view holder type
+     * @param viewType adapter's view type of the item
      * @return Created view holder
      */
     @Nullable
-    private ViewHolder createViewHolder(int itemType) {
+    private ViewHolder createViewHolder(int itemType, int viewType) {
         if (itemType == ViewHolderType.ITEM) {
-            return mAdapter.onCreateItemViewHolder(AdaptiveTableLayout.this);
+            return mAdapter.onCreateItemViewHolder(AdaptiveTableLayout.this, viewType);
         } else if (itemType == ViewHolderType.ROW_HEADER) {
             return mAdapter.onCreateRowHeaderViewHolder(AdaptiveTableLayout.this);
         } else if (itemType == ViewHolderType.COLUMN_HEADER) {
@@ -1145,28 +2076,23 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
             // change data
             mAdapter.changeColumns(getBindColumn(fromColumn), getBindColumn(toColumn));
+            // only cached view holders of these columns show wrong data
+            releaseCachedColumn(fromColumn);
+            releaseCachedColumn(toColumn);
 
             // change view holders
             switchHeaders(mHeaderColumnViewHolders, fromColumn, toColumn, ViewHolderType.COLUMN_HEADER);
 
             // change indexes in array with widths
             mManager.switchTwoColumns(fromColumn, toColumn);
+            mSizesLoader.switchTwoColumns(fromColumn, toColumn);
 
-            Collection<ViewHolder> fromHolders = mViewHolders.getColumnItems(fromColumn);
-            Collection<ViewHolder> toHolders = mViewHolders.getColumnItems(toColumn);
-
-            removeViewHolders(fromHolders);
-            removeViewHolders(toHolders);
-
-            for (ViewHolder holder : fromHolders) {
-                holder.setColumnIndex(toColumn);
-                mViewHolders.put(holder.getRowIndex(), holder.getColumnIndex(), holder);
-            }
-
-            for (ViewHolder holder : toHolders) {
-                holder.setColumnIndex(fromColumn);
-                mViewHolders.put(holder.getRowIndex(), holder.getColumnIndex(), holder);
-            }
+            // switch view holders in place and fix their indexes
+            mViewHolders.switchColumns(fromColumn, toColumn);
+            mVisitedIndex = toColumn;
+            mViewHolders.forEachInColumn(toColumn, mSetColumnIndexVisitor);
+            mVisitedIndex = fromColumn;
+            mViewHolders.forEachInColumn(fromColumn, mSetColumnIndexVisitor);
         }
     }
 
@@ -1180,28 +2106,23 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         if (mAdapter != null) {
             // change data
             mAdapter.changeRows(fromRow, toRow, mSettings.isSolidRowHeader());
+            // only cached view holders of these rows show wrong data
+            releaseCachedRow(fromRow);
+            releaseCachedRow(toRow);
 
             // change view holders
             switchHeaders(mHeaderRowViewHolders, fromRow, toRow, ViewHolderType.ROW_HEADER);
 
             // change indexes in array with heights
             mManager.switchTwoRows(fromRow, toRow);
+            mSizesLoader.switchTwoRows(fromRow, toRow);
 
-            Collection<ViewHolder> fromHolders = mViewHolders.getRowItems(fromRow);
-            Collection<ViewHolder> toHolders = mViewHolders.getRowItems(toRow);
-
-            removeViewHolders(fromHolders);
-            removeViewHolders(toHolders);
-
-            for (ViewHolder holder : fromHolders) {
-                holder.setRowIndex(toRow);
-                mViewHolders.put(holder.getRowIndex(), holder.getColumnIndex(), holder);
-            }
-
-            for (ViewHolder holder : toHolders) {
-                holder.setRowIndex(fromRow);
-                mViewHolders.put(holder.getRowIndex(), holder.getColumnIndex(), holder);
-            }
+            // switch view holders in place and fix their indexes
+            mViewHolders.switchRows(fromRow, toRow);
+            mVisitedIndex = toRow;
+            mViewHolders.forEachInRow(toRow, mSetRowIndexVisitor);
+            mVisitedIndex = fromRow;
+            mViewHolders.forEachInRow(fromRow, mSetRowIndexVisitor);
 
             // update row headers
             if (!mSettings.isSolidRowHeader()) {
@@ -1266,7 +2187,7 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      * @param type      type of items (column header or row header)
      */
     @SuppressWarnings("unused")
-    private void switchHeaders(SparseArrayCompat<ViewHolder> map, int fromIndex, int toIndex, int type) {
+    private void switchHeaders(LongHashMap<ViewHolder> map, int fromIndex, int toIndex, int type) {
         ViewHolder fromVh = map.get(fromIndex);
 
         if (fromVh != null) {
@@ -1297,78 +2218,210 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         }
     }
 
+    private int getRowHeaderStartX() {
+        return isRTL() ? getRight() - mManager.getHeaderRowWidth() : 0;
+    }
+
+    @Override
+    public void onViewHolderEvicted(@NonNull ViewHolder viewHolder) {
+        releaseKeptViewHolder(viewHolder);
+        getLayer(viewHolder.getItemType()).removeDetachedView(viewHolder.getItemView());
+    }
+
+    @Override
+    public void onViewHolderItemIdCleared(@NonNull ViewHolder viewHolder) {
+        releaseKeptViewHolder(viewHolder);
+    }
+
+    @Override
+    public boolean onPreInflateViewHolder(int itemType) {
+        if (mAdapter == null) {
+            return false;
+        }
+        int viewType = 0;
+        int columnCount = mAdapter.getColumnCount() - 1;
+        if (itemType == ViewHolderType.ITEM && mAdapter.getRowCount() > 1 && columnCount > 0) {
+            // view types usually depend on columns, take them from the first row
+            viewType = mAdapter.getItemViewType(0, mPreInflatedItemCount++ % columnCount);
+        }
+        ViewHolder holder = createViewHolder(itemType, viewType);
+        if (holder == null) {
+            return false;
+        }
+        holder.setItemType(itemType);
+        holder.setItemViewType(viewType);
+        mRecycler.pushRecycledView(holder);
+        return true;
+    }
+
+    @Override
+    public boolean onPrefetchViewHolder(int directionX, int directionY) {
+        if (mAdapter == null || !mIsVisibleRangeValid || mState.isDragging()) {
+            return false;
+        }
+        int column = directionX > 0 ? mLastVisibleColumn + 1 : mFirstVisibleColumn - 1;
+        if (directionX != 0 && column >= 0 && column < mManager.getColumnCount()) {
+            if (prefetchViewHolder(0, column, ViewHolderType.COLUMN_HEADER)) {
+                return true;
+            }
+            for (int i = mFirstVisibleRow; i <= mLastVisibleRow; i++) {
+                if (prefetchViewHolder(i, column, ViewHolderType.ITEM)) {
+                    return true;
+                }
+            }
+        }
+        int row = directionY > 0 ? mLastVisibleRow + 1 : mFirstVisibleRow - 1;
+        if (directionY != 0 && row >= 0 && row < mManager.getRowCount()) {
+            if (prefetchViewHolder(row, isRTL() ? mManager.getColumnCount() : 0, ViewHolderType.ROW_HEADER)) {
+                return true;
+            }
+            for (int i = mFirstVisibleColumn; i <= mLastVisibleColumn; i++) {
+                if (prefetchViewHolder(row, i, ViewHolderType.ITEM)) {
+                    return true;
+                }
+            }
+        }
+        return mIsLandingPredicted && prefetchLandingViewHolder();
+    }
+
     /**
-     * Remove item view holders from base collection
+     * Prefetch one view holder of the area where the fling stops.
      *
-     * @param toRemove Collection with view holders which need to remove
+     * @return false if all view holders of the area are prefetched
      */
-    private void removeViewHolders(@Nullable Collection<ViewHolder> toRemove) {
-        if (toRemove != null) {
-            for (ViewHolder holder : toRemove) {
-                mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
+    private boolean prefetchLandingViewHolder() {
+        int rowCount = mManager.getRowCount();
+        int columnCount = mManager.getColumnCount();
+        for (int i = mLandingFirstColumn; i <= mLandingLastColumn && i < columnCount; i++) {
+            if (prefetchViewHolder(0, i, ViewHolderType.COLUMN_HEADER, mLandingViewHolderCache)) {
+                return true;
+            }
+        }
+        for (int i = mLandingFirstRow; i <= mLandingLastRow && i < rowCount; i++) {
+            if (prefetchViewHolder(i, isRTL() ? columnCount : 0, ViewHolderType.ROW_HEADER, mLandingViewHolderCache)) {
+                return true;
+            }
+            for (int j = mLandingFirstColumn; j <= mLandingLastColumn && j < columnCount; j++) {
+                if (prefetchViewHolder(i, j, ViewHolderType.ITEM, mLandingViewHolderCache)) {
+                    return true;
+                }
             }
         }
+        return false;
     }
 
-    private int getRowHeaderStartX() {
-        return isRTL() ? getRight() - mManager.getHeaderRowWidth() : 0;
+    /**
+     * Create and bind view holder which isn't visible yet and hide it in the cache.
+     *
+     * @param row      view holder's row
+     * @param column   view holder's column
+     * @param itemType view holder's type
+     * @return false if view holder is shown or cached already
+     */
+    private boolean prefetchViewHolder(int row, int column, int itemType) {
+        return prefetchViewHolder(row, column, itemType, mViewHolderCache);
     }
 
-    @Override
-    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
-        final boolean result;
-        final ViewHolder viewHolder = (ViewHolder) child.getTag(R.id.tag_view_holder);
-        canvas.save();
-        int headerFixedX = mSettings.isHeaderFixed() ? getRowHeaderStartX() : mState.getScrollX();
-        int headerFixedY = mSettings.isHeaderFixed() ? 0 : mState.getScrollY();
+    /**
+     * Create and bind view holder which isn't visible yet and hide it in the cache.
+     *
+     * @param row      view holder's row
+     * @param column   view holder's column
+     * @param itemType view holder's type
+     * @param cache    cache for the view holder
+     * @return false if view holder is shown or cached already
+     */
+    private boolean prefetchViewHolder(int row, int column, int itemType, ViewHolderCache cache) {
+        if (row < 0 || column < 0
+                || mViewHolderCache.contains(itemType, row, column)
+                || mLandingViewHolderCache.contains(itemType, row, column)
+                || getViewHolder(row, column, itemType) != null) {
+            return false;
+        }
+        mIsPrefetching = true;
+        addViewHolder(row, column, itemType);
+        mIsPrefetching = false;
+        ViewHolder holder = getViewHolder(row, column, itemType);
+        if (holder == null) {
+            return false;
+        }
+        if (itemType == ViewHolderType.ITEM) {
+            mViewHolders.remove(row, column);
+        } else if (itemType == ViewHolderType.ROW_HEADER) {
+            mHeaderRowViewHolders.remove(row);
+        } else {
+            mHeaderColumnViewHolders.remove(column);
+        }
+        hideViewHolder(holder, cache);
+        return true;
+    }
 
-        int itemsAndColumnsLeft = !isRTL()
-                ? Math.max(0, mManager.getHeaderRowWidth() - headerFixedX)
-                : 0;
+    @Nullable
+    private ViewHolder getViewHolder(int row, int column, int itemType) {
+        if (itemType == ViewHolderType.ITEM) {
+            return mViewHolders.get(row, column);
+        } else if (itemType == ViewHolderType.ROW_HEADER) {
+            return mHeaderRowViewHolders.get(row);
+        } else {
+            return mHeaderColumnViewHolders.get(column);
+        }
+    }
 
-        int itemsAndColumnsRight = mSettings.getLayoutWidth();
-        if (isRTL()) {
-            itemsAndColumnsRight += mSettings.getCellMargin()
-                    - mManager.getHeaderRowWidth() * (isHeaderFixed() ? 1 : 0);
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getContext().registerComponentCallbacks(mTrimMemoryCallbacks);
+        if (mIsSizesLoadingCancelled && mAdapter != null) {
+            // sizes which weren't loaded before detach are loaded from the start
+            mSizesLoader.start(mAdapter.getUniformRowHeight() > 0 ? 0 : mManager.getRowCount(),
+                    mAdapter.getUniformColumnWidth() > 0 ? 0 : mManager.getColumnCount());
+        }
+        mIsSizesLoadingCancelled = false;
+        if (mIsRecyclerShared && mAdapter != null && mSettings.getLayoutWidth() > 0) {
+            // view holders were returned to the shared pool on detach
+            refreshVisibleArea();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && !isInEditMode()) {
+            Display display = getDisplay();
+            if (display != null) {
+                mPrefetcher.setRefreshRate(display.getRefreshRate());
+                mScrollHelper.setRefreshRate(display.getRefreshRate());
+                mMetricsRecorder.setRefreshRate(display.getRefreshRate());
+            }
         }
+    }
 
-        //noinspection StatementWithEmptyBody
-        if (viewHolder == null) {
-            //ignore
-        } else if (viewHolder.getItemType() == ViewHolderType.ITEM) {
-            // prepare canvas rect area for draw item (cell in table)
-            canvas.clipRect(
-                    itemsAndColumnsLeft,
-                    Math.max(0, mManager.getHeaderColumnHeight() - headerFixedY),
-                    itemsAndColumnsRight,
-                    mSettings.getLayoutHeight());
-        } else if (viewHolder.getItemType() == ViewHolderType.ROW_HEADER) {
-            // prepare canvas rect area for draw row header
-            canvas.clipRect(
-                    getRowHeaderStartX() - mSettings.getCellMargin() * (isRTL() ? 0 : 1),
-                    Math.max(0, mManager.getHeaderColumnHeight() - headerFixedY),
-                    Math.max(0, getRowHeaderStartX() + mManager.getHeaderRowWidth() + mSettings.getCellMargin()),
-                    mSettings.getLayoutHeight());
-        } else if (viewHolder.getItemType() == ViewHolderType.COLUMN_HEADER) {
-            // prepare canvas rect area for draw column header
-            canvas.clipRect(
-                    itemsAndColumnsLeft,
-                    0,
-                    itemsAndColumnsRight,
-                    Math.max(0, mManager.getHeaderColumnHeight() - headerFixedY));
-        } else if (viewHolder.getItemType() == ViewHolderType.FIRST_HEADER) {
-            // prepare canvas rect area for draw item (cell in table)
-            canvas.clipRect(
-                    !isRTL() ? 0 : getRowHeaderStartX(),
-                    0,
-                    !isRTL()
-                            ? Math.max(0, mManager.getHeaderRowWidth() - headerFixedX)
-                            : Math.max(0, getRowHeaderStartX() + mManager.getHeaderRowWidth()),
-                    Math.max(0, mManager.getHeaderColumnHeight() - headerFixedY));
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        getContext().unregisterComponentCallbacks(mTrimMemoryCallbacks);
+        // stop scrolling by frames
+        mScrollerRunnable.forceFinished();
+        mScrollerDragAndDropRunnable.stop();
+        mScrollDispatcher.cancel();
+        mPreInflater.cancel();
+        mPrefetcher.cancel();
+        removeCallbacks(mBindPlaceholdersRunnable);
+        mIsSizesLoadingCancelled = mSizesLoader.isLoading();
+        mSizesLoader.cancel();
+        // detached views don't get window's callbacks, remove them
+        if (mIsRecyclerShared) {
+            // other tables can reuse shown view holders while this one is detached
+            recycleViewHolders(true);
+        } else {
+            releaseCachedViewHolders();
         }
-        result = super.drawChild(canvas, child, drawingTime);
-        canvas.restore(); // need to restore here.
-        return result;
+        removeRecycledViews();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        // shadows over all views
+        mShadowHelper.draw(canvas);
+        // use the rest of the frame's time
+        mPrefetcher.schedule(getDrawingTime());
+        mMetricsRecorder.onFrameDrawn();
     }
 
     @Override
@@ -1412,6 +2465,8 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
                 checkLongPressForItemAndFirstHeader(viewHolder);
                 return;
             }
+            // dragging view holders will be kept out of the visible range
+            mIsVisibleRangeValid = false;
             // save start dragging touch position
             mDragAndDropPoints.setStart((int) (mState.getScrollX() + e.getX()), (int) (mState.getScrollY() + e.getY()));
             if (viewHolder.getItemType() == ViewHolderType.COLUMN_HEADER) {
@@ -1471,15 +2526,14 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      */
     @SuppressWarnings("unused")
     private void setDraggingToColumn(int column, boolean isDragging) {
-        Collection<ViewHolder> holders = mViewHolders.getColumnItems(column);
-        for (ViewHolder holder : holders) {
-            holder.setIsDragging(isDragging);
-        }
+        mViewHolders.forEachInColumn(column, isDragging ? mSetDraggingVisitor : mClearDraggingVisitor);
 
         ViewHolder holder = mHeaderColumnViewHolders.get(column);
         if (holder != null) {
             holder.setIsDragging(isDragging);
         }
+        // dragging views are drawn over other views
+        invalidateDrawingOrder();
     }
 
     /**
@@ -1490,20 +2544,30 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
      */
     @SuppressWarnings("unused")
     private void setDraggingToRow(int row, boolean isDragging) {
-        Collection<ViewHolder> holders = mViewHolders.getRowItems(row);
-        for (ViewHolder holder : holders) {
-            holder.setIsDragging(isDragging);
-        }
+        mViewHolders.forEachInRow(row, isDragging ? mSetDraggingVisitor : mClearDraggingVisitor);
 
         ViewHolder holder = mHeaderRowViewHolders.get(row);
         if (holder != null) {
             holder.setIsDragging(isDragging);
         }
+        // dragging views are drawn over other views
+        invalidateDrawingOrder();
+    }
+
+    /**
+     * Recalculate drawing order of the layers after dragging flags change.
+     */
+    private void invalidateDrawingOrder() {
+        mItemsLayer.invalidateDrawingOrder();
+        mRowHeadersLayer.invalidateDrawingOrder();
+        mColumnHeadersLayer.invalidateDrawingOrder();
     }
 
     @Override
     public boolean onActionUp(MotionEvent e) {
         if (mState.isDragging()) {
+            // dragging view holders can be out of the visible range
+            mIsVisibleRangeValid = false;
             // remove shadows from dragging views
             mShadowHelper.removeAllDragAndDropShadows(this);
 
@@ -1513,32 +2577,27 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             }
 
             // remove dragging flag from all item view holders
-            Collection<ViewHolder> holders = mViewHolders.getAll();
-            for (ViewHolder holder : holders) {
-                holder.setIsDragging(false);
-            }
+            mViewHolders.forEach(mClearDraggingVisitor);
 
             // remove dragging flag from all column header view holders
 
-            for (int count = mHeaderColumnViewHolders.size(), i = 0; i < count; i++) {
-                int key = mHeaderColumnViewHolders.keyAt(i);
-                // get the object by the key.
-                ViewHolder holder = mHeaderColumnViewHolders.get(key);
+            for (int count = mHeaderColumnViewHolders.capacity(), i = 0; i < count; i++) {
+                ViewHolder holder = mHeaderColumnViewHolders.valueAt(i);
                 if (holder != null) {
                     holder.setIsDragging(false);
                 }
             }
 
             // remove dragging flag from all row header view holders
-            for (int count = mHeaderRowViewHolders.size(), i = 0; i < count; i++) {
-                int key = mHeaderRowViewHolders.keyAt(i);
-                // get the object by the key.
-                ViewHolder holder = mHeaderRowViewHolders.get(key);
+            for (int count = mHeaderRowViewHolders.capacity(), i = 0; i < count; i++) {
+                ViewHolder holder = mHeaderRowViewHolders.valueAt(i);
                 if (holder != null) {
                     holder.setIsDragging(false);
                 }
             }
 
+            invalidateDrawingOrder();
+
             // remove dragging flags from state
             mState.setRowDragging(false, AdaptiveTableState.NO_DRAGGING_POSITION);
             mState.setColumnDragging(false, AdaptiveTableState.NO_DRAGGING_POSITION);
@@ -1618,7 +2677,8 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             if (!mScrollerRunnable.isFinished()) {
                 mScrollerRunnable.forceFinished();
             }
-            scrollBy((int) distanceX, (int) distanceY);
+            // scroll events of the frame are applied together
+            mScrollDispatcher.scrollBy(distanceX, distanceY);
         }
         return true;
     }
@@ -1626,20 +2686,57 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     @Override
     public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
         if (!mState.isDragging()) {
+            int maxX = (int) (mManager.getFullWidth() - mSettings.getLayoutWidth() + mManager.getColumnCount() * mSettings.getCellMargin());
+            int maxY = (int) (mManager.getFullHeight() - mSettings.getLayoutHeight() + mManager.getRowCount() * mSettings.getCellMargin());
+            // fling starts from the position of the last scroll event
+            mScrollDispatcher.flush();
             // simple fling
             mScrollerRunnable.start(
                     mState.getScrollX(), mState.getScrollY(),
                     (int) velocityX / 2, (int) velocityY / 2,
-                    (int) (mManager.getFullWidth() - mSettings.getLayoutWidth() + mManager.getColumnCount() * mSettings.getCellMargin()),
-                    (int) (mManager.getFullHeight() - mSettings.getLayoutHeight() + mManager.getRowCount() * mSettings.getCellMargin())
+                    maxX,
+                    maxY
             );
+            predictFlingLanding(maxX, maxY);
         }
         return true;
     }
 
+    /**
+     * Find rows and columns which will be visible when the fling stops.
+     * Their view holders are prefetched during the fling, so the last frames don't create and bind them.
+     *
+     * @param maxX max scroll X position
+     * @param maxY max scroll Y position
+     */
+    private void predictFlingLanding(int maxX, int maxY) {
+        if (mAdapter == null || !mIsVisibleRangeValid) {
+            return;
+        }
+        int scrollX = Math.max(0, Math.min(mScrollerRunnable.getFinalScrollX(), maxX));
+        int scrollY = Math.max(0, Math.min(mScrollerRunnable.getFinalScrollY(), maxY));
+        mLandingFirstColumn = mManager.getColumnByXWithShift(scrollX, mSettings.getCellMargin());
+        mLandingLastColumn = mManager.getColumnByXWithShift(scrollX + mSettings.getLayoutWidth(),
+                mSettings.getCellMargin());
+        mLandingFirstRow = mManager.getRowByYWithShift(scrollY, mSettings.getCellMargin());
+        mLandingLastRow = mManager.getRowByYWithShift(scrollY + mSettings.getLayoutHeight(), mSettings.getCellMargin());
+        mLandingViewHolderCache.setMaxSize(Math.max(0, mLandingLastRow - mLandingFirstRow + 1)
+                * Math.max(0, mLandingLastColumn - mLandingFirstColumn + 1));
+        mIsLandingPredicted = true;
+    }
+
+    @Override
+    public void onSmoothScrollFinished() {
+        bindPlaceholdersIfSlow();
+        mIsLandingPredicted = false;
+        // not shown view holders were predicted wrong, keep them until the cache is full
+        mLandingViewHolderCache.removeAll(mKeepLandingViewHolderVisitor);
+    }
+
     @Override
     public void notifyDataSetChanged() {
         recycleViewHolders(true);
+        invalidateRecycledViewHolders();
         mVisibleArea.set(mState.getScrollX(),
                 mState.getScrollY(),
                 mState.getScrollX() + mSettings.getLayoutWidth(),
@@ -1650,6 +2747,7 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
     @Override
     public void notifyLayoutChanged() {
         recycleViewHolders(true);
+        invalidateRecycledViewHolders();
         invalidate();
         mVisibleArea.set(mState.getScrollX(),
                 mState.getScrollY(),
@@ -1660,6 +2758,7 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
     @Override
     public void notifyItemChanged(int rowIndex, int columnIndex) {
+        invalidateRecycledViewHolders();
         ViewHolder holder;
         if (rowIndex == 0 && columnIndex == 0) {
             holder = mLeftTopViewHolder;
@@ -1677,17 +2776,80 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
 
     @Override
     public void notifyRowChanged(int rowIndex) {
-        Collection<ViewHolder> rowHolders = mViewHolders.getRowItems(rowIndex);
-        for (ViewHolder holder : rowHolders) {
-            viewHolderChanged(holder);
-        }
+        invalidateRecycledViewHolders();
+        mViewHolders.forEachInRow(rowIndex, mReleaseChangedItemVisitor);
+        addChangedItems();
     }
 
     @Override
     public void notifyColumnChanged(int columnIndex) {
-        Collection<ViewHolder> columnHolders = mViewHolders.getColumnItems(columnIndex);
-        for (ViewHolder holder : columnHolders) {
-            viewHolderChanged(holder);
+        invalidateRecycledViewHolders();
+        mViewHolders.forEachInColumn(columnIndex, mReleaseChangedItemVisitor);
+        addChangedItems();
+    }
+
+    private void addChangedItem(int row, int column) {
+        if (mChangedCount == mChangedRows.length) {
+            int capacity = Math.max(8, mChangedCount * 2);
+            mChangedRows = Arrays.copyOf(mChangedRows, capacity);
+            mChangedColumns = Arrays.copyOf(mChangedColumns, capacity);
+        }
+        mChangedRows[mChangedCount] = row;
+        mChangedColumns[mChangedCount] = column;
+        mChangedCount++;
+    }
+
+    /**
+     * Add view holders of items released by {@link #mReleaseChangedItemVisitor}.
+     */
+    private void addChangedItems() {
+        for (int i = 0; i < mChangedCount; i++) {
+            addViewHolder(mChangedRows[i], mChangedColumns[i], ViewHolderType.ITEM);
+        }
+        mChangedCount = 0;
+    }
+
+    @Override
+    public void onLoadRowHeight(int row) {
+        int height = mAdapter.getRowHeight(row);
+        int oldHeight = mManager.getRowHeight(row);
+        if (height != oldHeight) {
+            boolean isAboveVisibleArea =
+                    row < mManager.getRowByYWithShift(mState.getScrollY(), mSettings.getCellMargin());
+            mManager.setRowHeight(row, height);
+            // rows after the visible area don't move visible items
+            mIsVisibleSizeLoaded |= row <= mLastVisibleRow;
+            if (isAboveVisibleArea) {
+                // keep visible items on their places
+                mState.setScrollY(mState.getScrollY() + height - oldHeight);
+            }
+        }
+    }
+
+    @Override
+    public void onLoadColumnWidth(int column) {
+        int width = mAdapter.getColumnWidth(column);
+        int oldWidth = mManager.getColumnWidth(column);
+        if (width != oldWidth) {
+            boolean isBeforeVisibleArea =
+                    column < mManager.getColumnByXWithShift(mState.getScrollX(), mSettings.getCellMargin());
+            mManager.setColumnWidth(column, width);
+            // columns after the visible area don't move visible items
+            mIsVisibleSizeLoaded |= column <= mLastVisibleColumn;
+            if (isBeforeVisibleArea) {
+                // keep visible items on their places
+                mState.setScrollX(mState.getScrollX() + width - oldWidth);
+            }
+        }
+    }
+
+    @Override
+    public void onLoadStepFinished(boolean isFinished) {
+        // keep scroll position in the new bounds
+        scrollBy(0, 0);
+        if (mIsVisibleSizeLoaded) {
+            mIsVisibleSizeLoaded = false;
+            refreshVisibleArea();
         }
     }
 
@@ -1697,15 +2859,15 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
             mAdapter.onBindLeftTopHeaderViewHolder(mLeftTopViewHolder);
         } else if (holder.getItemType() == ViewHolderType.COLUMN_HEADER) {
             mHeaderColumnViewHolders.remove(holder.getColumnIndex());
-            recycleViewHolder(holder);
+            releaseViewHolder(holder);
             addViewHolder(holder.getRowIndex(), holder.getColumnIndex(), holder.getItemType());
         } else if (holder.getItemType() == ViewHolderType.ROW_HEADER) {
             mHeaderRowViewHolders.remove(holder.getRowIndex());
-            recycleViewHolder(holder);
+            releaseViewHolder(holder);
             addViewHolder(holder.getRowIndex(), holder.getColumnIndex(), holder.getItemType());
         } else {
             mViewHolders.remove(holder.getRowIndex(), holder.getColumnIndex());
-            recycleViewHolder(holder);
+            releaseViewHolder(holder);
             addViewHolder(holder.getRowIndex(), holder.getColumnIndex(), holder.getItemType());
         }
     }
@@ -1734,6 +2896,183 @@ public class AdaptiveTableLayout extends ViewGroup implements ScrollHelper.Scrol
         mSettings.setDragAndDropEnabled(enabled);
     }
 
+    public boolean isProgressiveLayout() {
+        return mSettings.isProgressiveLayout();
+    }
+
+    /**
+     * If true, the first frame is shown using only sizes of visible rows and columns,
+     * other sizes are estimated and loaded from adapter in small portions between frames.
+     * Applied on the next adapter set or layout change.
+     *
+     * @param progressiveLayout progressive layout flag
+     */
+    public void setProgressiveLayout(boolean progressiveLayout) {
+        mSettings.setProgressiveLayout(progressiveLayout);
+    }
+
+    public int getPlaceholderFlingVelocity() {
+        return mSettings.getPlaceholderFlingVelocity();
+    }
+
+    /**
+     * While fling velocity is above this one, new items are bound by
+     * {@link AdaptiveTableAdapter#onBindPlaceholderViewHolder(ViewHolder, int, int)}. Items which stay visible
+     * are bound with their data in small portions when the fling slows down.
+     *
+     * @param velocity fling velocity in pixels per second, 0 disables placeholders
+     */
+    public void setPlaceholderFlingVelocity(int velocity) {
+        mSettings.setPlaceholderFlingVelocity(Math.max(0, velocity));
+    }
+
+    public boolean isTouchPredictionEnabled() {
+        return mSettings.isTouchPredictionEnabled();
+    }
+
+    /**
+     * Report metrics of drawn frames: scroll time, view holders' creation, recycling and binding, measures,
+     * layouts and frames dropped during scroll. Only sampled frames are recorded and reported,
+     * other frames cost a time check.
+     *
+     * @param listener         metrics listener, null to stop reporting
+     * @param samplingInterval every n-th drawn frame is reported, 1 - every frame
+     */
+    public void setTableMetricsListener(@Nullable TableMetricsListener listener, int samplingInterval) {
+        mMetricsRecorder.setListener(listener, samplingInterval);
+    }
+
+    /**
+     * In touch prediction mode pans are handled without GestureDetector. All batched touch samples are used
+     * and the finger's position is extrapolated to the time when the frame is shown, so the content
+     * follows the finger with less latency. Content can slightly overshoot the finger on sharp stops.
+     *
+     * @param enabled touch prediction mode flag
+     */
+    public void setTouchPredictionEnabled(boolean enabled) {
+        mSettings.setTouchPredictionEnabled(enabled);
+        mScrollHelper.setTouchPredictionEnabled(enabled);
+    }
+
+    /**
+     * Remove detached views of own recycled view holders and release these view holders.
+     */
+    private void removeRecycledViews() {
+        if (!mIsRecyclerShared) {
+            for (ViewHolder holder : mRecycler.popAllRecycledViewHolders()) {
+                releaseKeptViewHolder(holder);
+                getLayer(holder.getItemType()).removeDetachedView(holder.getItemView());
+            }
+        }
+    }
+
+    /**
+     * Set pool of recycled view holders shared with other tables. View holders aren't inflated again
+     * when the table is recreated or other table with the same pool is shown.
+     * Adapters of these tables should be compatible, see {@link RecycledViewPool}.
+     *
+     * @param pool shared pool or null to use own pool of the table
+     */
+    public void setRecycledViewPool(@Nullable RecycledViewPool pool) {
+        // return own view holders
+        releaseCachedViewHolders();
+        removeRecycledViews();
+        mIsRecyclerShared = pool != null;
+        if (pool != null) {
+            mRecycler = pool.getRecycler();
+        } else {
+            mRecycler = new Recycler();
+            mRecycler.setListener(this);
+        }
+    }
+
+    /**
+     * Set max count of recycled view holders of the type, which are kept for reuse.
+     * By default it's the count of visible view holders of this type.
+     *
+     * @param itemType {@link ViewHolderType#ITEM}, {@link ViewHolderType#ROW_HEADER} or
+     *                 {@link ViewHolderType#COLUMN_HEADER}
+     * @param maxCount max count of recycled view holders, negative value restores default count
+     */
+    public void setMaxRecycledViewHolders(@ViewHolderType int itemType, int maxCount) {
+        mRecycler.setMaxSize(itemType, maxCount < 0 ? Recycler.NO_MAX_SIZE : maxCount);
+    }
+
+    /**
+     * Set max memory of all recycled view holders. Memory of view holder is estimated
+     * as 4 bytes per pixel of its view. The least recently recycled view holders are released first.
+     *
+     * @param bytes memory budget in bytes
+     */
+    public void setRecycledViewHoldersMemoryBudget(long bytes) {
+        mRecycler.setMemoryBudget(bytes);
+    }
+
+    /**
+     * @param itemType {@link ViewHolderType#ITEM}, {@link ViewHolderType#ROW_HEADER} or
+     *                 {@link ViewHolderType#COLUMN_HEADER}
+     * @return count of recycled view holders of the type, which are kept for reuse
+     */
+    public int getRecycledViewHoldersCount(@ViewHolderType int itemType) {
+        return mRecycler.getCount(itemType);
+    }
+
+    /**
+     * @return estimated memory of all recycled view holders, in bytes
+     */
+    public long getRecycledViewHoldersMemory() {
+        return mRecycler.getMemory();
+    }
+
+    /**
+     * Create view holders ahead of time and keep them for reuse, so the first layout and scroll only bind them.
+     * View holders are created on the main thread in small portions when it's idle.
+     * Counts are estimated to fill the table once, or the screen if the table isn't laid out yet.
+     * Call it after the adapter is set.
+     */
+    public void preInflateViewHolders() {
+        if (mAdapter == null) {
+            return;
+        }
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        int width = getWidth() > 0 ? getWidth() : metrics.widthPixels;
+        int height = getHeight() > 0 ? getHeight() : metrics.heightPixels;
+        int columnWidth = mAdapter.getUniformColumnWidth() > 0
+                ? mAdapter.getUniformColumnWidth()
+                : estimateColumnWidth();
+        int rowHeight = mAdapter.getUniformRowHeight() > 0 ? mAdapter.getUniformRowHeight() : estimateRowHeight();
+        // partially visible rows and columns on both sides
+        int columnCount = width / Math.max(1, columnWidth + mSettings.getCellMargin()) + 2;
+        int rowCount = height / Math.max(1, rowHeight + mSettings.getCellMargin()) + 2;
+        columnCount = Math.max(0, Math.min(columnCount, mAdapter.getColumnCount() - 1));
+        rowCount = Math.max(0, Math.min(rowCount, mAdapter.getRowCount() - 1));
+        preInflateViewHolders(rowCount * columnCount, rowCount, columnCount);
+    }
+
+    /**
+     * Create view holders ahead of time and keep them for reuse, so the first layout and scroll only bind them.
+     * View holders are created on the main thread in small portions when it's idle.
+     * Counts include already recycled view holders and are limited by {@link #setMaxRecycledViewHolders(int, int)}.
+     * View types of item view holders are taken from the columns of the first row in turn.
+     *
+     * @param itemCount         count of item view holders
+     * @param rowHeaderCount    count of row header view holders
+     * @param columnHeaderCount count of column header view holders
+     */
+    public void preInflateViewHolders(int itemCount, int rowHeaderCount, int columnHeaderCount) {
+        mPreInflatedItemCount = 0;
+        mPreInflater.start(itemCount - mRecycler.getCount(ViewHolderType.ITEM),
+                rowHeaderCount - mRecycler.getCount(ViewHolderType.ROW_HEADER),
+                columnHeaderCount - mRecycler.getCount(ViewHolderType.COLUMN_HEADER));
+    }
+
+    /**
+     * Stop creation of view holders started by {@link #preInflateViewHolders()}.
+     */
+    public void cancelPreInflation() {
+        mPreInflater.cancel();
+    }
+
     private static class TableInstanceSaver implements Parcelable {
         public static final Creator<TableInstanceSaver> CREATOR = new Creator<TableInstanceSaver>() {
             @Override
@@ -29,6 +29,18 @@ class AdaptiveTableLayoutSettings {
      */
     private boolean mDragAndDropEnabled;
 
+    /**
+     * If true, the first frame uses only sizes of visible rows and columns, the rest sizes are loaded later
+     */
+    private boolean mProgressiveLayout;
+    /**
+     * Items are bound as placeholders while fling velocity is above this one, in pixels per second. 0 - disabled
+     */
+    private int mPlaceholderFlingVelocity;
+    /**
+     * If true, pans use all touch samples and the finger's position is extrapolated to the frame's display time
+     */
+    private boolean mTouchPredictionEnabled;
 
     AdaptiveTableLayoutSettings() {
     }
@@ -85,4 +97,28 @@ class AdaptiveTableLayoutSettings {
     public void setDragAndDropEnabled(boolean dragAndDropEnabled) {
         mDragAndDropEnabled = dragAndDropEnabled;
     }
+
+    public boolean isProgressiveLayout() {
+        return mProgressiveLayout;
+    }
+
+    public void setProgressiveLayout(boolean progressiveLayout) {
+        mProgressiveLayout = progressiveLayout;
+    }
+
+    public int getPlaceholderFlingVelocity() {
+        return mPlaceholderFlingVelocity;
+    }
+
+    public void setPlaceholderFlingVelocity(int placeholderFlingVelocity) {
+        mPlaceholderFlingVelocity = placeholderFlingVelocity;
+    }
+
+    public boolean isTouchPredictionEnabled() {
+        return mTouchPredictionEnabled;
+    }
+
+    public void setTouchPredictionEnabled(boolean touchPredictionEnabled) {
+        mTouchPredictionEnabled = touchPredictionEnabled;
+    }
 }
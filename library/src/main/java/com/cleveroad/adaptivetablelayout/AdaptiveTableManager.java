@@ -8,6 +8,13 @@ package com.cleveroad.adaptivetablelayout;
  * 3) Put data using {@link #putRowHeight(int, int)} and {@link #putColumnWidth(int, int)}
  * 4) Call invalidate
  * <p>
+ * Manager keeps sizes in binary indexed trees, so search item by coordinate and getting item's offset
+ * cost O(log n). Single item can be resized with {@link #setColumnWidth(int, int)} and
+ * {@link #setRowHeight(int, int)} without invalidate.
+ * Tables with uniform row's heights or column's widths can be inited with
+ * {@link #init(int, int, int, int)}. In this case memory doesn't depend on rows or columns count.
+ * Progressive layout inits them in the same way with estimated sizes.
+ * <p>
  * In case changing full width or count of rows or columns, you need to re-init manager.(steps 2 - 4)
  */
 class AdaptiveTableManager {
@@ -20,13 +27,13 @@ class AdaptiveTableManager {
      */
     private long mFullHeight;
     /**
-     * Array with column's widths
+     * Column's widths
      */
-    private int[] mColumnWidths;
+    private ItemSizes mColumnWidths;
     /**
-     * Array with row's heights
+     * Row's heights
      */
-    private int[] mRowHeights;
+    private ItemSizes mRowHeights;
 
     /**
      * Column's header height
@@ -41,8 +48,8 @@ class AdaptiveTableManager {
 
     void clear() {
         // clear objects
-        mRowHeights = new int[0];
-        mColumnWidths = new int[0];
+        mRowHeights = new FenwickTree(0);
+        mColumnWidths = new FenwickTree(0);
 
         mFullWidth = 0;
         mFullHeight = 0;
@@ -55,9 +62,26 @@ class AdaptiveTableManager {
     }
 
     void init(int rowCount, int columnCount) {
+        init(rowCount, columnCount, 0, 0);
+    }
+
+    /**
+     * Init manager. Rows (columns) with uniform size use constant memory, only sizes different from uniform
+     * size are saved using {@link #putRowHeight(int, int)} ({@link #putColumnWidth(int, int)}).
+     *
+     * @param rowCount           rows count
+     * @param columnCount        columns count
+     * @param uniformRowHeight   height of all rows (or estimated height) or 0 if rows have different heights
+     * @param uniformColumnWidth width of all columns (or estimated width) or 0 if columns have different widths
+     */
+    void init(int rowCount, int columnCount, int uniformRowHeight, int uniformColumnWidth) {
         // create objects
-        mRowHeights = new int[rowCount];
-        mColumnWidths = new int[columnCount];
+        mRowHeights = uniformRowHeight > 0
+                ? new UniformItemSizes(rowCount, uniformRowHeight)
+                : new FenwickTree(rowCount);
+        mColumnWidths = uniformColumnWidth > 0
+                ? new UniformItemSizes(columnCount, uniformColumnWidth)
+                : new FenwickTree(columnCount);
         mIsInited = true;
     }
 
@@ -70,16 +94,12 @@ class AdaptiveTableManager {
     void invalidate() {
         checkForInit();
         // calculate widths
-        mFullWidth = 0;
-        for (int itemWidth : mColumnWidths) {
-            mFullWidth += itemWidth;
-        }
+        mColumnWidths.build();
+        mFullWidth = mColumnWidths.getTotal();
 
         // calculate heights
-        mFullHeight = 0;
-        for (int itemHeight : mRowHeights) {
-            mFullHeight += itemHeight;
-        }
+        mRowHeights.build();
+        mFullHeight = mRowHeights.getTotal();
     }
 
     /**
@@ -88,18 +108,31 @@ class AdaptiveTableManager {
      */
     int getColumnWidth(int column) {
         checkForInit();
-        return mColumnWidths[column];
+        return mColumnWidths.get(column);
     }
 
     /**
-     * Put column width to the array. Call {@link #invalidate()} after all changes.
+     * Put column width. Call {@link #invalidate()} after all changes.
      *
      * @param column column index
      * @param width  column's width
      */
     void putColumnWidth(int column, int width) {
         checkForInit();
-        mColumnWidths[column] = width;
+        mColumnWidths.put(column, width);
+    }
+
+    /**
+     * Change column width. Unlike {@link #putColumnWidth(int, int)} updates cumulative widths
+     * and full width in O(log n), so there is no need to call {@link #invalidate()}.
+     *
+     * @param column column index
+     * @param width  column's width
+     */
+    void setColumnWidth(int column, int width) {
+        checkForInit();
+        mColumnWidths.set(column, width);
+        mFullWidth = mColumnWidths.getTotal();
     }
 
     /**
@@ -109,11 +142,10 @@ class AdaptiveTableManager {
      */
     int getColumnsWidth(int from, int to) {
         checkForInit();
-        int width = 0;
-        for (int i = from; i < to && mColumnWidths != null; i++) {
-            width += mColumnWidths[i];
+        if (to <= from) {
+            return 0;
         }
-        return width;
+        return (int) (mColumnWidths.getSum(to) - mColumnWidths.getSum(from));
     }
 
     /**
@@ -122,7 +154,7 @@ class AdaptiveTableManager {
     int getColumnCount() {
         checkForInit();
         if (mColumnWidths != null) {
-            return mColumnWidths.length;
+            return mColumnWidths.getCount();
         }
         return 0;
     }
@@ -133,20 +165,32 @@ class AdaptiveTableManager {
      */
     int getRowHeight(int row) {
         checkForInit();
-        return mRowHeights[row];
+        return mRowHeights.get(row);
     }
 
 
     /**
-     * Put row height to the array. Call {@link #invalidate()} after all changes.
+     * Put row height. Call {@link #invalidate()} after all changes.
      *
      * @param row    row index
      * @param height row's height
      */
     void putRowHeight(int row, int height) {
         checkForInit();
-        mRowHeights[row] = height;
+        mRowHeights.put(row, height);
+    }
 
+    /**
+     * Change row height. Unlike {@link #putRowHeight(int, int)} updates cumulative heights
+     * and full height in O(log n), so there is no need to call {@link #invalidate()}.
+     *
+     * @param row    row index
+     * @param height row's height
+     */
+    void setRowHeight(int row, int height) {
+        checkForInit();
+        mRowHeights.set(row, height);
+        mFullHeight = mRowHeights.getTotal();
     }
 
     /**
@@ -156,11 +200,10 @@ class AdaptiveTableManager {
      */
     int getRowsHeight(int from, int to) {
         checkForInit();
-        int height = 0;
-        for (int i = from; i < to && mRowHeights != null; i++) {
-            height += mRowHeights[i];
+        if (to <= from) {
+            return 0;
         }
-        return height;
+        return (int) (mRowHeights.getSum(to) - mRowHeights.getSum(from));
     }
 
     /**
@@ -169,7 +212,7 @@ class AdaptiveTableManager {
     int getRowCount() {
         checkForInit();
         if (mRowHeights != null) {
-            return mRowHeights.length;
+            return mRowHeights.getCount();
         }
         return 0;
     }
@@ -198,22 +241,8 @@ class AdaptiveTableManager {
      */
     int getColumnByX(int x) {
         checkForInit();
-        int sum = 0;
         // header offset
-        int tempX = x - mHeaderRowWidth;
-        if (tempX <= sum) {
-            return 0;
-        }
-        for (int count = mColumnWidths.length, i = 0; i < count; i++) {
-            int nextSum = sum + mColumnWidths[i];
-            if (tempX > sum && tempX < nextSum) {
-                return i;
-            } else if (tempX < nextSum) {
-                return i - 1;
-            }
-            sum = nextSum;
-        }
-        return mColumnWidths.length - 1;
+        return mColumnWidths.getIndexByPosition(x - mHeaderRowWidth, 0);
     }
 
     /**
@@ -224,22 +253,8 @@ class AdaptiveTableManager {
      */
     int getColumnByXWithShift(int x, int shiftEveryStep) {
         checkForInit();
-        int sum = 0;
         // header offset
-        int tempX = x - mHeaderRowWidth;
-        if (tempX <= sum) {
-            return 0;
-        }
-        for (int count = mColumnWidths.length, i = 0; i < count; i++) {
-            int nextSum = sum + mColumnWidths[i] + shiftEveryStep;
-            if (tempX > sum && tempX < nextSum) {
-                return i;
-            } else if (tempX < nextSum) {
-                return i - 1;
-            }
-            sum = nextSum;
-        }
-        return mColumnWidths.length - 1;
+        return mColumnWidths.getIndexByPosition(x - mHeaderRowWidth, shiftEveryStep);
     }
 
     /**
@@ -250,23 +265,8 @@ class AdaptiveTableManager {
      */
     int getRowByY(int y) {
         checkForInit();
-        int sum = 0;
         // header offset
-        int tempY = y - mHeaderColumnHeight;
-        if (tempY <= sum) {
-            return 0;
-        }
-        for (int count = mRowHeights.length, i = 0; i < count; i++) {
-            int nextSum = sum + mRowHeights[i];
-
-            if (tempY > sum && tempY < nextSum) {
-                return i;
-            } else if (tempY < nextSum) {
-                return i - 1;
-            }
-            sum = nextSum;
-        }
-        return mRowHeights.length - 1;
+        return mRowHeights.getIndexByPosition(y - mHeaderColumnHeight, 0);
     }
 
     /**
@@ -277,23 +277,8 @@ class AdaptiveTableManager {
      */
     int getRowByYWithShift(int y, int shiftEveryStep) {
         checkForInit();
-        int sum = 0;
         // header offset
-        int tempY = y - mHeaderColumnHeight;
-        if (tempY <= sum) {
-            return 0;
-        }
-        for (int count = mRowHeights.length, i = 0; i < count; i++) {
-            int nextSum = sum + mRowHeights[i] + shiftEveryStep;
-
-            if (tempY > sum && tempY < nextSum) {
-                return i;
-            } else if (tempY < nextSum) {
-                return i - 1;
-            }
-            sum = nextSum;
-        }
-        return mRowHeights.length - 1;
+        return mRowHeights.getIndexByPosition(y - mHeaderColumnHeight, shiftEveryStep);
     }
 
     /**
@@ -341,9 +326,7 @@ class AdaptiveTableManager {
      */
     void switchTwoColumns(int columnIndex, int columnToIndex) {
         checkForInit();
-        int cellData = mColumnWidths[columnToIndex];
-        mColumnWidths[columnToIndex] = mColumnWidths[columnIndex];
-        mColumnWidths[columnIndex] = cellData;
+        mColumnWidths.swap(columnIndex, columnToIndex);
     }
 
     /**
@@ -354,16 +337,18 @@ class AdaptiveTableManager {
      */
     void switchTwoRows(int rowIndex, int rowToIndex) {
         checkForInit();
-        int cellData = mRowHeights[rowToIndex];
-        mRowHeights[rowToIndex] = mRowHeights[rowIndex];
-        mRowHeights[rowIndex] = cellData;
-    }
-
-    public int[] getColumnWidths() {
-        return mColumnWidths;
+        mRowHeights.swap(rowIndex, rowToIndex);
     }
 
-    public int[] getRowHeights() {
-        return mRowHeights;
+    /**
+     * Return column number which bounds contains position. Position doesn't include row's header width.
+     *
+     * @param position       coordinate without header
+     * @param shiftEveryStep shift after every column (cell margin)
+     * @return column number
+     */
+    int getColumnByPosition(int position, int shiftEveryStep) {
+        checkForInit();
+        return mColumnWidths.getIndexByPosition(position, shiftEveryStep);
     }
 }
@@ -20,21 +20,8 @@ class AdaptiveTableManagerRTL extends AdaptiveTableManager {
         if (!mLayoutDirectionHelper.isRTL()) {
             return super.getColumnByXWithShift(x, shiftEveryStep);
         } else {
-            checkForInit();
-            int sum = 0;
-            if (x <= sum) {
-                return 0;
-            }
-            for (int count = getColumnWidths().length, i = 0; i < count; i++) {
-                int nextSum = sum + getColumnWidths()[i] + shiftEveryStep;
-                if (x > sum && x < nextSum) {
-                    return i;
-                } else if (x < nextSum) {
-                    return i - 1;
-                }
-                sum = nextSum;
-            }
-            return getColumnWidths().length - 1;
+            // rtl direction hasn't header offset
+            return getColumnByPosition(x, shiftEveryStep);
         }
     }
 
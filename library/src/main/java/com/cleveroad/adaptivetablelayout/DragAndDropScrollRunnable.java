@@ -3,17 +3,40 @@ package com.cleveroad.adaptivetablelayout;
 import android.view.View;
 
 /**
- * Move table layout logic in dragging mode
+ * Move table layout logic in dragging mode. The view is scrolled once per frame by {@link ScrollFrameDispatcher}.
  */
-class DragAndDropScrollRunnable implements Runnable {
+class DragAndDropScrollRunnable implements ScrollFrameDispatcher.ScrollFrameSource {
+    /**
+     * Frame time of 60 fps display, in nanoseconds
+     */
+    private static final long FRAME_TIME_NANOS = 16666667L;
+    /**
+     * Time to scroll by the touch's distance into the scroll area, in nanoseconds.
+     * It's 5 frames of 60 fps display. Calculated by hand.
+     */
+    private static final float DIFF_SCROLL_TIME_NANOS = 5f * FRAME_TIME_NANOS;
+    /**
+     * Max time of one frame's scroll, in nanoseconds. Longer pauses don't make a jump
+     */
+    private static final long MAX_FRAME_TIME_NANOS = 4 * FRAME_TIME_NANOS;
+
     private View mView;
+    /**
+     * Applies scroll distance of each frame
+     */
+    private final ScrollFrameDispatcher mDispatcher;
     private boolean isFinished;
 
     private int mDiffX;
     private int mDiffY;
+    /**
+     * Start time of the last scrolled frame, 0 before the first frame
+     */
+    private long mLastFrameTimeNanos;
 
-    DragAndDropScrollRunnable(View view) {
+    DragAndDropScrollRunnable(View view, ScrollFrameDispatcher dispatcher) {
         mView = view;
+        mDispatcher = dispatcher;
         isFinished = true;
     }
 
@@ -59,27 +82,27 @@ class DragAndDropScrollRunnable implements Runnable {
         if (isFinished) {
             // start scroll
             isFinished = false;
-            mView.post(this);
+            mLastFrameTimeNanos = 0;
+            mDispatcher.addSource(this);
         }
     }
 
     @Override
-    public void run() {
-        // scroll speed. Calculated by hand.
-        int shiftDistanceX = mDiffX / 5;
-        int shiftDistanceY = mDiffY / 5;
-
-        if ((shiftDistanceX != 0 || shiftDistanceY != 0) && !isFinished) {
-            // change state
-            isFinished = false;
-            // scroll view
-            mView.scrollBy(shiftDistanceX, shiftDistanceY);
-            // start self again
-            mView.post(this);
-        } else {
+    public synchronized boolean onScrollFrame(long frameTimeNanos) {
+        if ((mDiffX == 0 && mDiffY == 0) || isFinished) {
             // have no shift distance or need to finish.
             stop();
+            return false;
         }
+        // scroll speed depends on the frame's time, the first frame is a frame of 60 fps display
+        long frameTime = mLastFrameTimeNanos == 0
+                ? FRAME_TIME_NANOS
+                : Math.min(frameTimeNanos - mLastFrameTimeNanos, MAX_FRAME_TIME_NANOS);
+        mLastFrameTimeNanos = frameTimeNanos;
+        // scroll view
+        mDispatcher.scrollBy(mDiffX * frameTime / DIFF_SCROLL_TIME_NANOS,
+                mDiffY * frameTime / DIFF_SCROLL_TIME_NANOS);
+        return true;
     }
 
     synchronized void stop() {
@@ -91,7 +114,7 @@ class DragAndDropScrollRunnable implements Runnable {
         isFinished = true;
 
         // remove callbacks
-        mView.removeCallbacks(this);
+        mDispatcher.removeSource(this);
     }
 
     boolean isFinished() {
@@ -0,0 +1,159 @@
+package com.cleveroad.adaptivetablelayout;
+
+/**
+ * Binary indexed tree with item's sizes (row's heights or column's widths).
+ * After build all changes with {@link #set(int, int)} and {@link #swap(int, int)} update cumulative sizes
+ * in O(log n), so resizing of one item doesn't require full rebuild.
+ */
+class FenwickTree implements ItemSizes {
+    /**
+     * Item's sizes
+     */
+    private final int[] mValues;
+    /**
+     * Tree with partial sums. Index 0 is unused.
+     */
+    private final long[] mTree;
+    /**
+     * Sum of all sizes
+     */
+    private long mTotal;
+
+    FenwickTree(int count) {
+        mValues = new int[count];
+        mTree = new long[count + 1];
+    }
+
+    /**
+     * @return items count
+     */
+    @Override
+    public int getCount() {
+        return mValues.length;
+    }
+
+    /**
+     * @param index item index
+     * @return item's size
+     */
+    @Override
+    public int get(int index) {
+        return mValues[index];
+    }
+
+    /**
+     * Put item's size without tree update. Call {@link #build()} after all changes.
+     *
+     * @param index item index
+     * @param value item's size
+     */
+    @Override
+    public void put(int index, int value) {
+        mValues[index] = value;
+    }
+
+    /**
+     * Build tree with partial sums in O(n)
+     */
+    @Override
+    public void build() {
+        long total = 0;
+        for (int count = mValues.length, i = 1; i <= count; i++) {
+            total += mValues[i - 1];
+            mTree[i] = mValues[i - 1];
+        }
+        for (int count = mValues.length, i = 1; i <= count; i++) {
+            int parent = i + (i & -i);
+            if (parent <= count) {
+                mTree[parent] += mTree[i];
+            }
+        }
+        mTotal = total;
+    }
+
+    /**
+     * Change item's size and update tree.
+     *
+     * @param index item index
+     * @param value new item's size
+     */
+    @Override
+    public void set(int index, int value) {
+        int delta = value - mValues[index];
+        if (delta == 0) {
+            return;
+        }
+        mValues[index] = value;
+        mTotal += delta;
+        for (int count = mValues.length, i = index + 1; i <= count; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * Switch 2 items sizes and update tree.
+     *
+     * @param index   from item index
+     * @param toIndex to item index
+     */
+    @Override
+    public void swap(int index, int toIndex) {
+        int value = mValues[toIndex];
+        set(toIndex, mValues[index]);
+        set(index, value);
+    }
+
+    /**
+     * @param to to item index (exclusive)
+     * @return sum of sizes of the items [0, to)
+     */
+    @Override
+    public long getSum(int to) {
+        long sum = 0;
+        for (int i = to; i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return sum of all sizes
+     */
+    @Override
+    public long getTotal() {
+        return mTotal;
+    }
+
+    /**
+     * Search item index which bounds contains position. Descends the tree, so it costs O(log n).
+     * If position is placed right on the items border, returns previous item.
+     *
+     * @param position       position without headers
+     * @param shiftEveryStep shift after every item (cell margin)
+     * @return item index
+     */
+    @Override
+    public int getIndexByPosition(int position, int shiftEveryStep) {
+        if (position <= 0) {
+            return 0;
+        }
+        int count = mValues.length;
+        // search last item which end is not bigger than position
+        int index = 0;
+        long rest = position;
+        for (int step = Integer.highestOneBit(Math.max(1, count)); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= count) {
+                long size = mTree[next] + (long) step * shiftEveryStep;
+                if (size <= rest) {
+                    index = next;
+                    rest -= size;
+                }
+            }
+        }
+        if (index >= count) {
+            return count - 1;
+        }
+        return rest == 0 ? index - 1 : index;
+    }
+}
@@ -0,0 +1,71 @@
+package com.cleveroad.adaptivetablelayout;
+
+/**
+ * Storage of item's sizes (row's heights or column's widths) with cumulative sizes.
+ * Work flow:
+ * 1) Create object with items count
+ * 2) Put sizes using {@link #put(int, int)}
+ * 3) Call {@link #build()}
+ */
+interface ItemSizes {
+    /**
+     * @return items count
+     */
+    int getCount();
+
+    /**
+     * @param index item index
+     * @return item's size
+     */
+    int get(int index);
+
+    /**
+     * Put item's size. Call {@link #build()} after all changes.
+     *
+     * @param index item index
+     * @param value item's size
+     */
+    void put(int index, int value);
+
+    /**
+     * Calculate cumulative sizes after {@link #put(int, int)} calls.
+     */
+    void build();
+
+    /**
+     * Change item's size and update cumulative sizes.
+     *
+     * @param index item index
+     * @param value new item's size
+     */
+    void set(int index, int value);
+
+    /**
+     * Switch 2 items sizes and update cumulative sizes.
+     *
+     * @param index   from item index
+     * @param toIndex to item index
+     */
+    void swap(int index, int toIndex);
+
+    /**
+     * @param to to item index (exclusive)
+     * @return sum of sizes of the items [0, to)
+     */
+    long getSum(int to);
+
+    /**
+     * @return sum of all sizes
+     */
+    long getTotal();
+
+    /**
+     * Search item index which bounds contains position.
+     * If position is placed right on the items border, returns previous item.
+     *
+     * @param position       position without headers
+     * @param shiftEveryStep shift after every item (cell margin)
+     * @return item index
+     */
+    int getIndexByPosition(int position, int shiftEveryStep);
+}
@@ -0,0 +1,254 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.Nullable;
+import android.util.SparseBooleanArray;
+import android.view.View;
+
+/**
+ * Loads row's heights and column's widths from adapter in small portions on the main thread.
+ * Layout starts with estimated sizes and draws the first frame using only sizes of visible items,
+ * all other sizes are loaded between frames.
+ */
+class ItemSizesLoader implements Runnable {
+    /**
+     * Max time of one loading step, in nanoseconds
+     */
+    private static final long STEP_DURATION_NANOS = 4000000L;
+    /**
+     * Items count loaded between checks of step duration
+     */
+    private static final int ITEMS_PER_CHECK = 32;
+    /**
+     * View which runs loading steps
+     */
+    private final View mView;
+
+    @Nullable
+    private ItemSizesLoaderListener mListener;
+    /**
+     * Loaded row's heights
+     */
+    private final LoadedItems mLoadedRows = new LoadedItems();
+    /**
+     * Loaded column's widths
+     */
+    private final LoadedItems mLoadedColumns = new LoadedItems();
+
+    private boolean mIsLoading;
+
+    ItemSizesLoader(View view) {
+        mView = view;
+    }
+
+    void setListener(@Nullable ItemSizesLoaderListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Start loading. All items are marked as not loaded.
+     *
+     * @param rowCount    rows count
+     * @param columnCount columns count
+     */
+    void start(int rowCount, int columnCount) {
+        cancel();
+        mLoadedRows.reset(rowCount);
+        mLoadedColumns.reset(columnCount);
+        mIsLoading = true;
+        // run self
+        mView.post(this);
+    }
+
+    /**
+     * Stop loading without loading of the rest items.
+     */
+    void cancel() {
+        mView.removeCallbacks(this);
+        mLoadedRows.reset(0);
+        mLoadedColumns.reset(0);
+        mIsLoading = false;
+    }
+
+    boolean isLoading() {
+        return mIsLoading;
+    }
+
+    /**
+     * Load the row's height immediately, if it isn't loaded yet.
+     *
+     * @param row row index
+     * @return true if height was loaded right now
+     */
+    boolean ensureRowLoaded(int row) {
+        if (!mIsLoading || !mLoadedRows.markLoaded(row)) {
+            return false;
+        }
+        if (mListener != null) {
+            mListener.onLoadRowHeight(row);
+        }
+        return true;
+    }
+
+    /**
+     * Load the column's width immediately, if it isn't loaded yet.
+     *
+     * @param column column index
+     * @return true if width was loaded right now
+     */
+    boolean ensureColumnLoaded(int column) {
+        if (!mIsLoading || !mLoadedColumns.markLoaded(column)) {
+            return false;
+        }
+        if (mListener != null) {
+            mListener.onLoadColumnWidth(column);
+        }
+        return true;
+    }
+
+    /**
+     * Call it when rows are switched in the layout. If only one of them was loaded, the real height
+     * is moved to the place of the other one, and the estimated height is loaded right now.
+     *
+     * @param row   from row index
+     * @param toRow to row index
+     */
+    void switchTwoRows(int row, int toRow) {
+        if (mIsLoading && mLoadedRows.isLoaded(row) != mLoadedRows.isLoaded(toRow)) {
+            int loadedRow = mLoadedRows.isLoaded(row) ? row : toRow;
+            mLoadedRows.markLoaded(loadedRow == row ? toRow : row);
+            if (mListener != null) {
+                mListener.onLoadRowHeight(loadedRow);
+            }
+        }
+    }
+
+    /**
+     * Call it when columns are switched in the layout. If only one of them was loaded, the real width
+     * is moved to the place of the other one, and the estimated width is loaded right now.
+     *
+     * @param column   from column index
+     * @param toColumn to column index
+     */
+    void switchTwoColumns(int column, int toColumn) {
+        if (mIsLoading && mLoadedColumns.isLoaded(column) != mLoadedColumns.isLoaded(toColumn)) {
+            int loadedColumn = mLoadedColumns.isLoaded(column) ? column : toColumn;
+            mLoadedColumns.markLoaded(loadedColumn == column ? toColumn : column);
+            if (mListener != null) {
+                mListener.onLoadColumnWidth(loadedColumn);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        if (mIsLoading) {
+            load(System.nanoTime() + STEP_DURATION_NANOS);
+        }
+    }
+
+    private void load(long deadline) {
+        int checked = 0;
+        while (!mLoadedRows.isFinished() || !mLoadedColumns.isFinished()) {
+            if (!mLoadedColumns.isFinished()) {
+                ensureColumnLoaded(mLoadedColumns.mNext);
+            }
+            if (!mLoadedRows.isFinished()) {
+                ensureRowLoaded(mLoadedRows.mNext);
+            }
+            if (++checked == ITEMS_PER_CHECK) {
+                checked = 0;
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+        boolean isFinished = mLoadedRows.isFinished() && mLoadedColumns.isFinished();
+        if (isFinished) {
+            mIsLoading = false;
+        } else {
+            // run self
+            mView.post(this);
+        }
+        if (mListener != null) {
+            mListener.onLoadStepFinished(isFinished);
+        }
+    }
+
+    /**
+     * Loaded items. Items are loaded mostly in order, so only the first not loaded item is kept
+     * with a sparse set of loaded items after it, e.g. visible ones. Memory doesn't depend on items count.
+     */
+    private static class LoadedItems {
+        /**
+         * Loaded items after {@link #mNext}
+         */
+        private final SparseBooleanArray mLoaded = new SparseBooleanArray();
+        /**
+         * Items count
+         */
+        private int mCount;
+        /**
+         * All items before this one are loaded
+         */
+        private int mNext;
+
+        void reset(int count) {
+            mCount = count;
+            mNext = 0;
+            mLoaded.clear();
+        }
+
+        boolean isFinished() {
+            return mNext >= mCount;
+        }
+
+        boolean isLoaded(int index) {
+            return index < mNext || mLoaded.get(index);
+        }
+
+        /**
+         * @param index item index
+         * @return true if item wasn't loaded before
+         */
+        boolean markLoaded(int index) {
+            if (index < 0 || index >= mCount || isLoaded(index)) {
+                return false;
+            }
+            if (index == mNext) {
+                // move to the next not loaded item
+                mNext++;
+                while (mNext < mCount && mLoaded.get(mNext)) {
+                    mLoaded.delete(mNext);
+                    mNext++;
+                }
+            } else {
+                mLoaded.put(index, true);
+            }
+            return true;
+        }
+    }
+
+    interface ItemSizesLoaderListener {
+
+        /**
+         * Load height of the row from adapter.
+         *
+         * @param row row index
+         */
+        void onLoadRowHeight(int row);
+
+        /**
+         * Load width of the column from adapter.
+         *
+         * @param column column index
+         */
+        void onLoadColumnWidth(int column);
+
+        /**
+         * Called after the portion of items was loaded.
+         *
+         * @param isFinished true if all items are loaded
+         */
+        void onLoadStepFinished(boolean isFinished);
+    }
+}
@@ -2,6 +2,8 @@ package com.cleveroad.adaptivetablelayout;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.SparseIntArray;
+import android.view.ViewGroup;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -140,6 +142,54 @@ public abstract class LinkedAdaptiveTableAdapter<VH extends ViewHolder> implemen
         //do something
     }
 
+    @Override
+    public void onBindPlaceholderViewHolder(@NonNull VH viewHolder, int row, int column) {
+        // no placeholders, bind the item
+        onBindViewHolder(viewHolder, row, column);
+    }
+
+    @NonNull
+    @Override
+    public VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+        // all items have the same view type
+        return onCreateItemViewHolder(parent);
+    }
+
+    @Override
+    public int getItemViewType(int row, int column) {
+        return 0;
+    }
+
+    @Override
+    public long getItemId(int row, int column) {
+        // items don't have stable ids
+        return NO_ID;
+    }
+
+    @Override
+    public int getUniformColumnWidth() {
+        // columns have different widths
+        return 0;
+    }
+
+    @Override
+    public int getUniformRowHeight() {
+        // rows have different heights
+        return 0;
+    }
+
+    @Nullable
+    @Override
+    public SparseIntArray getColumnWidthOverrides() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public SparseIntArray getRowHeightOverrides() {
+        return null;
+    }
+
     public boolean isRtl() {
         return mIsRtl;
     }
@@ -4,6 +4,7 @@ import android.annotation.SuppressLint;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.SparseIntArray;
 import android.view.ViewGroup;
 
 import java.util.HashMap;
@@ -179,6 +180,12 @@ class LinkedAdaptiveTableAdapterImpl<VH extends ViewHolder> extends LinkedAdapti
         return mInner.onCreateItemViewHolder(parent);
     }
 
+    @NonNull
+    @Override
+    public VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return mInner.onCreateItemViewHolder(parent, viewType);
+    }
+
     @NonNull
     @Override
     public VH onCreateColumnHeaderViewHolder(@NonNull ViewGroup parent) {
@@ -204,6 +211,13 @@ class LinkedAdaptiveTableAdapterImpl<VH extends ViewHolder> extends LinkedAdapti
         mInner.onBindViewHolder(viewHolder, rowIndexToId(tempRow), columnIndexToId(tempColumn));
     }
 
+    @Override
+    public void onBindPlaceholderViewHolder(@NonNull VH viewHolder, int row, int column) {
+        int tempRow = row + 1; // need to merge matrix with table headers and without.
+        int tempColumn = column + 1; // need to merge matrix with table headers and without.
+        mInner.onBindPlaceholderViewHolder(viewHolder, rowIndexToId(tempRow), columnIndexToId(tempColumn));
+    }
+
     @Override
     public void onBindHeaderColumnViewHolder(@NonNull VH viewHolder, int column) {
         int tempColumn = column + 1; // need to merge matrix with table headers and without.
@@ -243,6 +257,60 @@ class LinkedAdaptiveTableAdapterImpl<VH extends ViewHolder> extends LinkedAdapti
         return mInner.getHeaderRowWidth();
     }
 
+    @Override
+    public int getItemViewType(int row, int column) {
+        int tempRow = row + 1; // need to merge matrix with table headers and without.
+        int tempColumn = column + 1; // need to merge matrix with table headers and without.
+        return mInner.getItemViewType(rowIndexToId(tempRow), columnIndexToId(tempColumn));
+    }
+
+    @Override
+    public long getItemId(int row, int column) {
+        int tempRow = row + 1; // need to merge matrix with table headers and without.
+        int tempColumn = column + 1; // need to merge matrix with table headers and without.
+        return mInner.getItemId(rowIndexToId(tempRow), columnIndexToId(tempColumn));
+    }
+
+    @Override
+    public int getUniformColumnWidth() {
+        return mInner.getUniformColumnWidth();
+    }
+
+    @Override
+    public int getUniformRowHeight() {
+        return mInner.getUniformRowHeight();
+    }
+
+    @Nullable
+    @Override
+    public SparseIntArray getColumnWidthOverrides() {
+        SparseIntArray innerWidths = mInner.getColumnWidthOverrides();
+        if (innerWidths == null) {
+            return null;
+        }
+        SparseIntArray widths = new SparseIntArray(innerWidths.size());
+        for (int count = innerWidths.size(), i = 0; i < count; i++) {
+            // need to merge matrix with table headers and without.
+            widths.put(columnIdToIndex(innerWidths.keyAt(i)) - 1, innerWidths.valueAt(i));
+        }
+        return widths;
+    }
+
+    @Nullable
+    @Override
+    public SparseIntArray getRowHeightOverrides() {
+        SparseIntArray innerHeights = mInner.getRowHeightOverrides();
+        if (innerHeights == null) {
+            return null;
+        }
+        SparseIntArray heights = new SparseIntArray(innerHeights.size());
+        for (int count = innerHeights.size(), i = 0; i < count; i++) {
+            // need to merge matrix with table headers and without.
+            heights.put(rowIdToIndex(innerHeights.keyAt(i)) - 1, innerHeights.valueAt(i));
+        }
+        return heights;
+    }
+
     @Override
     @Nullable
     public OnItemClickListener getOnItemClickListener() {
@@ -307,7 +375,7 @@ class LinkedAdaptiveTableAdapterImpl<VH extends ViewHolder> extends LinkedAdapti
         return id != null ? id : columnIndex;
     }
 
-    private int columnIdToIndex(int columnId) {
+    int columnIdToIndex(int columnId) {
         Integer index = mColumnIdToIndex.get(columnId);
         return index != null ? index : columnId;
     }
@@ -317,7 +385,7 @@ class LinkedAdaptiveTableAdapterImpl<VH extends ViewHolder> extends LinkedAdapti
         return id != null ? id : rowIndex;
     }
 
-    private int rowIdToIndex(int rowId) {
+    int rowIdToIndex(int rowId) {
         Integer index = mRowIdToIndex.get(rowId);
         return index != null ? index : rowId;
     }
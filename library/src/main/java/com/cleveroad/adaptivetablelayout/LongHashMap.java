@@ -0,0 +1,247 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Open addressing hash map with primitive long keys. Keys aren't boxed, get, put and remove are O(1).
+ * <p>
+ * Iterate over the map by slots: from 0 to {@link #capacity()}, skipping slots where {@link #valueAt(int)}
+ * returns null. Visited item can be removed by {@link #removeAt(int)} while iterating,
+ * but new items mustn't be put.
+ * <p>
+ * The map doesn't shrink. Removed slots are freed when probing doesn't go through them, and the map
+ * is rehashed to spare arrays of the same size, so put and remove don't allocate memory once the map is grown.
+ *
+ * @param <V> value
+ */
+class LongHashMap<V> {
+    /**
+     * Value of the slot with removed item. Probing goes through it
+     */
+    private static final Object DELETED = new Object();
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] mKeys;
+    private Object[] mValues;
+    /**
+     * Arrays of the previous rehash with the same capacity, reused by the next one
+     */
+    @Nullable
+    private long[] mSpareKeys;
+    @Nullable
+    private Object[] mSpareValues;
+    /**
+     * Items count
+     */
+    private int mSize;
+    /**
+     * Items count plus removed slots count
+     */
+    private int mUsed;
+
+    LongHashMap() {
+        mKeys = new long[MIN_CAPACITY];
+        mValues = new Object[MIN_CAPACITY];
+    }
+
+    /**
+     * @param key   item's key
+     * @param value item
+     */
+    void put(long key, @NonNull V value) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            mValues[slot] = value;
+            return;
+        }
+        if ((mUsed + 1) * 2 > mKeys.length) {
+            // keep half of slots free
+            rehash();
+        }
+        int mask = mKeys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object current = mValues[i];
+            if (current == null || current == DELETED) {
+                if (current == null) {
+                    mUsed++;
+                }
+                mKeys[i] = key;
+                mValues[i] = value;
+                mSize++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param key item's key
+     * @return item or null if there is no item with this key
+     */
+    @Nullable
+    V get(long key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    /**
+     * @param key item's key
+     * @return removed item or null if there was no item with this key
+     */
+    @Nullable
+    V remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V value = valueAt(slot);
+        removeAt(slot);
+        return value;
+    }
+
+    /**
+     * @param key item's key
+     * @return slot of the item or -1 if there is no item with this key
+     */
+    int indexOfKey(long key) {
+        return findSlot(key);
+    }
+
+    /**
+     * @return items count
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Remove all items
+     */
+    void clear() {
+        for (int i = 0; i < mValues.length; i++) {
+            mValues[i] = null;
+        }
+        mSize = 0;
+        mUsed = 0;
+    }
+
+    /**
+     * @return slots count, use it to iterate over the map
+     */
+    int capacity() {
+        return mKeys.length;
+    }
+
+    /**
+     * @param slot slot index
+     * @return item in the slot or null if the slot is free
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V valueAt(int slot) {
+        Object value = mValues[slot];
+        return value == DELETED ? null : (V) value;
+    }
+
+    /**
+     * @param slot slot index
+     * @return key of the item in the slot, it makes sense only if {@link #valueAt(int)} isn't null
+     */
+    long keyAt(int slot) {
+        return mKeys[slot];
+    }
+
+    /**
+     * Replace item in the slot. The slot keeps its key, so it can be used while iterating.
+     *
+     * @param slot  slot with an item
+     * @param value new item
+     */
+    void setValueAt(int slot, @NonNull V value) {
+        mValues[slot] = value;
+    }
+
+    /**
+     * Remove item in the slot. Other items keep their slots, so it can be used while iterating.
+     *
+     * @param slot slot index
+     */
+    void removeAt(int slot) {
+        Object value = mValues[slot];
+        if (value == null || value == DELETED) {
+            return;
+        }
+        mSize--;
+        int mask = mKeys.length - 1;
+        if (mValues[(slot + 1) & mask] != null) {
+            // probing of the next items goes through this slot
+            mValues[slot] = DELETED;
+            return;
+        }
+        // probing doesn't reach this slot and removed slots before it anymore
+        mValues[slot] = null;
+        mUsed--;
+        for (int i = (slot - 1) & mask; mValues[i] == DELETED; i = (i - 1) & mask) {
+            mValues[i] = null;
+            mUsed--;
+        }
+    }
+
+    private int findSlot(long key) {
+        int mask = mKeys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            Object value = mValues[i];
+            if (value == null) {
+                return -1;
+            }
+            if (value != DELETED && mKeys[i] == key) {
+                return i;
+            }
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = mKeys;
+        Object[] oldValues = mValues;
+        int capacity = oldKeys.length;
+        while (capacity < (mSize + 1) * 4) {
+            capacity <<= 1;
+        }
+        boolean isSameCapacity = capacity == oldKeys.length;
+        if (isSameCapacity && mSpareKeys != null && mSpareValues != null) {
+            mKeys = mSpareKeys;
+            mValues = mSpareValues;
+        } else {
+            mKeys = new long[capacity];
+            mValues = new Object[capacity];
+        }
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object value = oldValues[j];
+            if (value != null && value != DELETED) {
+                int i = hash(oldKeys[j]) & mask;
+                while (mValues[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                mKeys[i] = oldKeys[j];
+                mValues[i] = value;
+            }
+        }
+        mUsed = mSize;
+        if (isSameCapacity) {
+            for (int i = 0; i < oldValues.length; i++) {
+                oldValues[i] = null;
+            }
+            mSpareKeys = oldKeys;
+            mSpareValues = oldValues;
+        } else {
+            mSpareKeys = null;
+            mSpareValues = null;
+        }
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
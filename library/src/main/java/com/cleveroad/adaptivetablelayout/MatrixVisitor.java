@@ -0,0 +1,18 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Callback to iterate over matrix's items without allocations.
+ *
+ * @param <TObj> Object
+ */
+interface MatrixVisitor<TObj> {
+
+    /**
+     * Called for each visited item. The item can be removed from the matrix here.
+     *
+     * @param item matrix's item
+     */
+    void visit(@NonNull TObj item);
+}
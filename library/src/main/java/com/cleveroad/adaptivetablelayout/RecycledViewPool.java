@@ -0,0 +1,62 @@
+package com.cleveroad.adaptivetablelayout;
+
+/**
+ * Pool of recycled view holders which can be shared between several {@link AdaptiveTableLayout}s,
+ * e.g. tables on pages of ViewPager. Views of pooled view holders aren't attached to any table,
+ * so the pool can outlive tables which filled it.
+ * <p>
+ * Tables which share the pool should use compatible adapters: view holders of the same type
+ * should be created from the same layouts and bound by any of these adapters.
+ */
+public class RecycledViewPool {
+    private final Recycler mRecycler = new Recycler(true);
+
+    /**
+     * Set max count of recycled view holders of the type.
+     * By default it's the biggest count of visible view holders of this type in tables which use the pool.
+     *
+     * @param itemType {@link ViewHolderType#ITEM}, {@link ViewHolderType#ROW_HEADER} or
+     *                 {@link ViewHolderType#COLUMN_HEADER}
+     * @param maxCount max count of recycled view holders, negative value restores default count
+     */
+    public void setMaxRecycledViewHolders(@ViewHolderType int itemType, int maxCount) {
+        mRecycler.setMaxSize(itemType, maxCount < 0 ? Recycler.NO_MAX_SIZE : maxCount);
+    }
+
+    /**
+     * Set max memory of all recycled view holders. Memory of view holder is estimated
+     * as 4 bytes per pixel of its view.
+     *
+     * @param bytes memory budget in bytes
+     */
+    public void setMemoryBudget(long bytes) {
+        mRecycler.setMemoryBudget(bytes);
+    }
+
+    /**
+     * @param itemType {@link ViewHolderType#ITEM}, {@link ViewHolderType#ROW_HEADER} or
+     *                 {@link ViewHolderType#COLUMN_HEADER}
+     * @return count of recycled view holders of the type
+     */
+    public int getRecycledViewHoldersCount(@ViewHolderType int itemType) {
+        return mRecycler.getCount(itemType);
+    }
+
+    /**
+     * @return estimated memory of all recycled view holders, in bytes
+     */
+    public long getMemory() {
+        return mRecycler.getMemory();
+    }
+
+    /**
+     * Release all recycled view holders.
+     */
+    public void clear() {
+        mRecycler.popAllRecycledViewHolders();
+    }
+
+    Recycler getRecycler() {
+        return mRecycler;
+    }
+}
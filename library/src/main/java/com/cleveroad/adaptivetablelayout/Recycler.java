@@ -1,52 +1,415 @@
 package com.cleveroad.adaptivetablelayout;
 
+import android.content.ComponentCallbacks2;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.SparseArray;
+import android.view.View;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * The Recycler facilitates reuse of mViewHolders across layouts.
+ * <p>
+ * View holders are pooled by item type and view type. Each pool is bounded by the max size of its item type.
+ * The least recently recycled view holders are evicted first when the pool is full, when pooled views exceed
+ * the memory budget or when the system asks to trim memory.
+ * <p>
+ * View holders with item ids are indexed by them, so the view holder of the item is found in O(1).
+ * Entries of pools are reused, so push and pop don't allocate memory after pools are filled once.
  */
 class Recycler {
+    /**
+     * Max size isn't set by user
+     */
+    static final int NO_MAX_SIZE = -1;
+    /**
+     * Estimated bytes per pixel of pooled view's area
+     */
+    private static final int BYTES_PER_PIXEL = 4;
 
-    private SparseArray<Deque<ViewHolder>> mViewHolders;
+    /**
+     * Pools by item type and view type, see {@link #createKey(int, int)}
+     */
+    private final LongHashMap<Pool> mPools = new LongHashMap<>();
+    /**
+     * Removed entries for reuse
+     */
+    @Nullable
+    private Entry mFreeEntries;
+    /**
+     * Max sizes set by user, by item type
+     */
+    private final int[] mMaxSizes = new int[ViewHolderType.ITEM + 1];
+    /**
+     * Max sizes used if user didn't set them, by item type
+     */
+    private final int[] mDefaultMaxSizes = new int[ViewHolderType.ITEM + 1];
+    /**
+     * Max estimated memory of all pooled views, in bytes
+     */
+    private long mMemoryBudget = Long.MAX_VALUE;
+    /**
+     * Estimated memory of all pooled views, in bytes
+     */
+    private long mMemory;
+
+    @Nullable
+    private RecyclerListener mListener;
 
     /**
-     * Constructor
+     * Pool shared by several tables
      */
-    @SuppressWarnings("unchecked")
+    private final boolean mIsShared;
+
     Recycler() {
-        mViewHolders = new SparseArray<>(3);
+        this(false);
+    }
+
+    /**
+     * @param isShared true if pool is shared by several tables, then default max sizes
+     *                 are the biggest sizes set by these tables
+     */
+    Recycler(boolean isShared) {
+        mIsShared = isShared;
+        Arrays.fill(mMaxSizes, NO_MAX_SIZE);
+        // shared pool grows to the sizes set by its tables
+        Arrays.fill(mDefaultMaxSizes, isShared ? 0 : Integer.MAX_VALUE);
+    }
+
+    void setListener(@Nullable RecyclerListener listener) {
+        mListener = listener;
     }
 
     /**
      * Add a view to the Recycler. This view may be reused in the function
-     * {@link #popRecycledViewHolder(int)}
+     * {@link #popRecycledViewHolder(int, int, long)}
      *
      * @param viewHolder A viewHolder to add to the Recycler. It can no longer be used.
      */
     void pushRecycledView(@NonNull ViewHolder viewHolder) {
-        Deque<ViewHolder> deque = mViewHolders.get(viewHolder.getItemType());
-        if (deque == null) {
-            deque = new ArrayDeque<>();
-            mViewHolders.put(viewHolder.getItemType(), deque);
+        long key = createKey(viewHolder.getItemType(), viewHolder.getItemViewType());
+        Pool pool = mPools.get(key);
+        if (pool == null) {
+            pool = new Pool(viewHolder.getItemType());
+            mPools.put(key, pool);
         }
-        deque.push(viewHolder);
+        Entry entry = obtainEntry();
+        entry.mViewHolder = viewHolder;
+        pool.linkFirst(entry);
+        if (viewHolder.getItemId() != AdaptiveTableAdapter.NO_ID) {
+            Entry previous = pool.mItemIds.get(viewHolder.getItemId());
+            if (previous != null) {
+                // only the newest view holder is kept for the item
+                clearItemId(previous.mViewHolder);
+            }
+            pool.mItemIds.put(viewHolder.getItemId(), entry);
+        }
+        mMemory += estimateMemory(viewHolder);
+        trimToSize(pool);
+        trimToMemoryBudget();
     }
 
     /**
-     * Returns, if exists, a view of the type <code>typeView</code>.
+     * Returns, if exists, a view of the type <code>typeView</code> and the view type. If the item id is set,
+     * the view which was bound to the item with this id is preferred, otherwise the least recently recycled view
+     * is returned, so recent views are kept for their items.
      *
      * @param itemType the type of view that you want.
+     * @param viewType adapter's view type of the item
+     * @param itemId   stable id of the item or {@link AdaptiveTableAdapter#NO_ID}
      * @return a viewHolder of the type <code>typeView</code>. <code>null</code> if
      * not found.
      */
     @Nullable
-    ViewHolder popRecycledViewHolder(int itemType) {
-        Deque<ViewHolder> deque = mViewHolders.get(itemType);
-        return deque == null || deque.isEmpty() ? null : deque.pop();
+    ViewHolder popRecycledViewHolder(int itemType, int viewType, long itemId) {
+        Pool pool = mPools.get(createKey(itemType, viewType));
+        if (pool == null || pool.mLast == null) {
+            return null;
+        }
+        Entry entry = itemId == AdaptiveTableAdapter.NO_ID ? null : pool.mItemIds.get(itemId);
+        return remove(pool, entry != null ? entry : pool.mLast);
+    }
+
+    /**
+     * Forget items of all view holders, so they are bound again. Call it when data is changed.
+     * The listener is notified about each view holder which had item id.
+     */
+    void clearItemIds() {
+        for (int count = mPools.capacity(), i = 0; i < count; i++) {
+            Pool pool = mPools.valueAt(i);
+            if (pool == null) {
+                continue;
+            }
+            pool.mItemIds.clear();
+            for (Entry entry = pool.mFirst; entry != null; entry = entry.mNext) {
+                clearItemId(entry.mViewHolder);
+            }
+        }
+    }
+
+    private void clearItemId(ViewHolder viewHolder) {
+        if (viewHolder.getItemId() != AdaptiveTableAdapter.NO_ID) {
+            if (mListener != null) {
+                mListener.onViewHolderItemIdCleared(viewHolder);
+            }
+            viewHolder.setItemId(AdaptiveTableAdapter.NO_ID);
+        }
+    }
+
+    /**
+     * Remove all view holders from the Recycler.
+     *
+     * @return removed view holders
+     */
+    @NonNull
+    List<ViewHolder> popAllRecycledViewHolders() {
+        List<ViewHolder> result = new ArrayList<>();
+        for (int count = mPools.capacity(), i = 0; i < count; i++) {
+            Pool pool = mPools.valueAt(i);
+            while (pool != null && pool.mLast != null) {
+                result.add(remove(pool, pool.mLast));
+            }
+        }
+        mMemory = 0;
+        return result;
+    }
+
+    /**
+     * Set max pool size of the item type. It's applied to the pool of each view type separately.
+     *
+     * @param itemType item type
+     * @param maxSize  max view holders count or {@link #NO_MAX_SIZE} to use default size
+     */
+    void setMaxSize(int itemType, int maxSize) {
+        mMaxSizes[itemType] = maxSize < 0 ? NO_MAX_SIZE : maxSize;
+        trimToSize(itemType);
+    }
+
+    /**
+     * Set max pool size of the item type which is used if user didn't set it.
+     *
+     * @param itemType item type
+     * @param maxSize  max view holders count
+     */
+    void setDefaultMaxSize(int itemType, int maxSize) {
+        // one table with less visible items doesn't shrink the shared pool for others
+        mDefaultMaxSizes[itemType] = mIsShared
+                ? Math.max(mDefaultMaxSizes[itemType], maxSize)
+                : Math.max(0, maxSize);
+        trimToSize(itemType);
+    }
+
+    /**
+     * @param memoryBudget max estimated memory of all pooled views, in bytes
+     */
+    void setMemoryBudget(long memoryBudget) {
+        mMemoryBudget = Math.max(0, memoryBudget);
+        trimToMemoryBudget();
+    }
+
+    /**
+     * @param itemType item type
+     * @return pooled view holders count of the item type, of all view types
+     */
+    int getCount(int itemType) {
+        int result = 0;
+        for (int count = mPools.capacity(), i = 0; i < count; i++) {
+            Pool pool = mPools.valueAt(i);
+            if (pool != null && pool.mItemType == itemType) {
+                result += pool.mSize;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return estimated memory of all pooled views, in bytes
+     */
+    long getMemory() {
+        return mMemory;
+    }
+
+    /**
+     * Release pooled view holders according to the level from {@link ComponentCallbacks2#onTrimMemory(int)}.
+     *
+     * @param level trim memory level
+     */
+    void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            // app can be killed, release all
+            trimToFraction(0);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            // UI is hidden or memory is low, keep a half
+            trimToFraction(0.5f);
+        }
+    }
+
+    private void trimToFraction(float fraction) {
+        for (int count = mPools.capacity(), i = 0; i < count; i++) {
+            Pool pool = mPools.valueAt(i);
+            if (pool == null) {
+                continue;
+            }
+            int size = (int) (pool.mSize * fraction);
+            while (pool.mSize > size) {
+                evictLast(pool);
+            }
+        }
+    }
+
+    private void trimToSize(int itemType) {
+        for (int count = mPools.capacity(), i = 0; i < count; i++) {
+            Pool pool = mPools.valueAt(i);
+            if (pool != null && pool.mItemType == itemType) {
+                trimToSize(pool);
+            }
+        }
+    }
+
+    private void trimToSize(Pool pool) {
+        int maxSize = mMaxSizes[pool.mItemType];
+        if (maxSize == NO_MAX_SIZE) {
+            maxSize = mDefaultMaxSizes[pool.mItemType];
+        }
+        while (pool.mSize > maxSize) {
+            evictLast(pool);
+        }
+    }
+
+    private void trimToMemoryBudget() {
+        while (mMemory > mMemoryBudget) {
+            // evict from the biggest pool
+            Pool biggest = null;
+            for (int count = mPools.capacity(), i = 0; i < count; i++) {
+                Pool pool = mPools.valueAt(i);
+                if (pool != null && (biggest == null || pool.mSize > biggest.mSize)) {
+                    biggest = pool;
+                }
+            }
+            if (biggest == null || biggest.mSize == 0) {
+                return;
+            }
+            evictLast(biggest);
+        }
+    }
+
+    /**
+     * Evict the least recently recycled view holder.
+     */
+    private void evictLast(Pool pool) {
+        //noinspection ConstantConditions
+        ViewHolder viewHolder = remove(pool, pool.mLast);
+        if (mListener != null) {
+            mListener.onViewHolderEvicted(viewHolder);
+        }
+    }
+
+    private ViewHolder remove(Pool pool, Entry entry) {
+        ViewHolder viewHolder = entry.mViewHolder;
+        if (viewHolder.getItemId() != AdaptiveTableAdapter.NO_ID) {
+            pool.mItemIds.remove(viewHolder.getItemId());
+        }
+        pool.unlink(entry);
+        mMemory -= estimateMemory(viewHolder);
+        entry.mViewHolder = null;
+        entry.mNext = mFreeEntries;
+        mFreeEntries = entry;
+        return viewHolder;
+    }
+
+    private Entry obtainEntry() {
+        Entry entry = mFreeEntries;
+        if (entry == null) {
+            return new Entry();
+        }
+        mFreeEntries = entry.mNext;
+        entry.mNext = null;
+        return entry;
+    }
+
+    private static long createKey(int itemType, int viewType) {
+        return ((long) viewType << 32) | (itemType & 0xFFFFFFFFL);
+    }
+
+    private static long estimateMemory(ViewHolder viewHolder) {
+        View view = viewHolder.getItemView();
+        return (long) view.getWidth() * view.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    interface RecyclerListener {
+
+        /**
+         * Called when view holder is removed from the pool to free memory. It will never be reused.
+         *
+         * @param viewHolder evicted view holder
+         */
+        void onViewHolderEvicted(@NonNull ViewHolder viewHolder);
+
+        /**
+         * Called before item id of pooled view holder is cleared. It won't be reused without binding.
+         *
+         * @param viewHolder pooled view holder
+         */
+        void onViewHolderItemIdCleared(@NonNull ViewHolder viewHolder);
+    }
+
+    /**
+     * View holders of one item type and view type. Entries are linked from the most to the least
+     * recently recycled one.
+     */
+    private static class Pool {
+        private final int mItemType;
+        /**
+         * Entries by item ids of their view holders
+         */
+        private final LongHashMap<Entry> mItemIds = new LongHashMap<>();
+        @Nullable
+        private Entry mFirst;
+        @Nullable
+        private Entry mLast;
+        private int mSize;
+
+        private Pool(int itemType) {
+            mItemType = itemType;
+        }
+
+        private void linkFirst(Entry entry) {
+            entry.mPrevious = null;
+            entry.mNext = mFirst;
+            if (mFirst == null) {
+                mLast = entry;
+            } else {
+                mFirst.mPrevious = entry;
+            }
+            mFirst = entry;
+            mSize++;
+        }
+
+        private void unlink(Entry entry) {
+            if (entry.mPrevious == null) {
+                mFirst = entry.mNext;
+            } else {
+                entry.mPrevious.mNext = entry.mNext;
+            }
+            if (entry.mNext == null) {
+                mLast = entry.mPrevious;
+            } else {
+                entry.mNext.mPrevious = entry.mPrevious;
+            }
+            entry.mPrevious = null;
+            entry.mNext = null;
+            mSize--;
+        }
+    }
+
+    private static class Entry {
+        private ViewHolder mViewHolder;
+        @Nullable
+        private Entry mPrevious;
+        @Nullable
+        private Entry mNext;
     }
 }
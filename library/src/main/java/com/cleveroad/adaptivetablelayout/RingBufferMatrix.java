@@ -0,0 +1,274 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Matrix to hold Objects of the visible window. Objects inside the window are kept in a dense ring buffer
+ * indexed by row and column modulo buffer's size, so access and window's slide by one strip don't search
+ * and don't shift arrays. Objects outside the window (e.g. dragging view holders) are kept in {@link SparseMatrix}.
+ *
+ * @param <TObj> Object
+ */
+class RingBufferMatrix<TObj> {
+    /**
+     * Objects outside the window
+     */
+    private final SparseMatrix<TObj> mOutside = new SparseMatrix<>();
+    /**
+     * Objects count outside the window
+     */
+    private int mOutsideCount;
+    /**
+     * Ring buffer with Objects inside the window.
+     * Index is (row % mRowCapacity) * mColumnCapacity + (column % mColumnCapacity)
+     */
+    private Object[] mItems = new Object[0];
+    private int mRowCapacity;
+    private int mColumnCapacity;
+    /**
+     * Window's bounds, inclusive
+     */
+    private int mFirstRow;
+    private int mLastRow = -1;
+    private int mFirstColumn;
+    private int mLastColumn = -1;
+
+    /**
+     * Move the window. Objects which left the window are moved to the sparse matrix,
+     * Objects from the sparse matrix which entered the window are moved to the ring buffer.
+     *
+     * @param firstRow    first window's row
+     * @param lastRow     last window's row
+     * @param firstColumn first window's column
+     * @param lastColumn  last window's column
+     */
+    void setWindow(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        if (firstRow == mFirstRow && lastRow == mLastRow && firstColumn == mFirstColumn && lastColumn == mLastColumn) {
+            return;
+        }
+        int rowCount = Math.max(0, lastRow - firstRow + 1);
+        int columnCount = Math.max(0, lastColumn - firstColumn + 1);
+        if (rowCount > mRowCapacity || columnCount > mColumnCapacity) {
+            // buffer is too small, put all Objects again
+            moveToOutside(mFirstRow, mLastRow, mFirstColumn, mLastColumn);
+            mRowCapacity = Math.max(rowCount, mRowCapacity);
+            mColumnCapacity = Math.max(columnCount, mColumnCapacity);
+            mItems = new Object[mRowCapacity * mColumnCapacity];
+        } else {
+            // move Objects from strips which left the window
+            for (int i = mFirstRow; i <= mLastRow; i++) {
+                if (i < firstRow || i > lastRow) {
+                    moveToOutside(i, i, mFirstColumn, mLastColumn);
+                } else {
+                    moveToOutside(i, i, mFirstColumn, Math.min(mLastColumn, firstColumn - 1));
+                    moveToOutside(i, i, Math.max(mFirstColumn, lastColumn + 1), mLastColumn);
+                }
+            }
+        }
+        mFirstRow = firstRow;
+        mLastRow = lastRow;
+        mFirstColumn = firstColumn;
+        mLastColumn = lastColumn;
+
+        // move Objects which entered the window
+        if (mOutsideCount > 0) {
+            for (int count = mOutside.capacity(), i = 0; i < count; i++) {
+                TObj item = mOutside.valueAt(i);
+                int row = mOutside.rowAt(i);
+                int column = mOutside.columnAt(i);
+                if (item != null && isInside(row, column)) {
+                    mOutside.removeAt(i);
+                    mOutsideCount--;
+                    mItems[index(row, column)] = item;
+                }
+            }
+        }
+    }
+
+    /**
+     * Put item to the matrix in row, column position.
+     *
+     * @param row    item row position
+     * @param column item column  position
+     * @param item   Object
+     */
+    void put(int row, int column, @NonNull TObj item) {
+        if (isInside(row, column)) {
+            mItems[index(row, column)] = item;
+        } else {
+            if (mOutside.get(row, column) == null) {
+                mOutsideCount++;
+            }
+            mOutside.put(row, column, item);
+        }
+    }
+
+    /**
+     * Get Object from matrix by row and column.
+     *
+     * @param row    item row position
+     * @param column item column position
+     * @return Object in row, column position in the matrix
+     */
+    @Nullable
+    TObj get(int row, int column) {
+        if (isInside(row, column)) {
+            return item(index(row, column));
+        }
+        return mOutsideCount == 0 ? null : mOutside.get(row, column);
+    }
+
+    /**
+     * Remove item in row, column position int the matrix
+     *
+     * @param row    item row position
+     * @param column item column position
+     */
+    void remove(int row, int column) {
+        if (isInside(row, column)) {
+            mItems[index(row, column)] = null;
+        } else if (mOutsideCount > 0 && mOutside.get(row, column) != null) {
+            mOutside.remove(row, column);
+            mOutsideCount--;
+        }
+    }
+
+    /**
+     * Switch items of two columns. Items keep their rows. Cost depends on visible rows count only.
+     *
+     * @param column   first column
+     * @param toColumn second column
+     */
+    void switchColumns(int column, int toColumn) {
+        for (int i = mFirstRow; i <= mLastRow; i++) {
+            TObj item = get(i, column);
+            TObj toItem = get(i, toColumn);
+            putOrRemove(i, column, toItem);
+            putOrRemove(i, toColumn, item);
+        }
+        if (mOutsideCount > 0) {
+            // rows outside the window have all items in the sparse matrix
+            mOutside.switchColumns(column, toColumn, mFirstRow, mLastRow);
+        }
+    }
+
+    /**
+     * Switch items of two rows. Items keep their columns. Cost depends on visible columns count only.
+     *
+     * @param row   first row
+     * @param toRow second row
+     */
+    void switchRows(int row, int toRow) {
+        for (int j = mFirstColumn; j <= mLastColumn; j++) {
+            TObj item = get(row, j);
+            TObj toItem = get(toRow, j);
+            putOrRemove(row, j, toItem);
+            putOrRemove(toRow, j, item);
+        }
+        if (mOutsideCount > 0) {
+            // columns outside the window have all items in the sparse matrix
+            mOutside.switchRows(row, toRow, mFirstColumn, mLastColumn);
+        }
+    }
+
+    /**
+     * Visit all row's items without allocations. Visited item can be removed from the matrix.
+     *
+     * @param row     row index
+     * @param visitor callback for each item
+     */
+    void forEachInRow(int row, @NonNull MatrixVisitor<TObj> visitor) {
+        if (row >= mFirstRow && row <= mLastRow) {
+            for (int j = mFirstColumn; j <= mLastColumn; j++) {
+                visitIfNotNull(visitor, item(index(row, j)));
+            }
+        }
+        if (mOutsideCount > 0) {
+            mOutside.forEachInRow(row, visitor);
+        }
+    }
+
+    /**
+     * Visit all column's items without allocations. Visited item can be removed from the matrix.
+     *
+     * @param column  column index
+     * @param visitor callback for each item
+     */
+    void forEachInColumn(int column, @NonNull MatrixVisitor<TObj> visitor) {
+        if (column >= mFirstColumn && column <= mLastColumn) {
+            for (int i = mFirstRow; i <= mLastRow; i++) {
+                visitIfNotNull(visitor, item(index(i, column)));
+            }
+        }
+        if (mOutsideCount > 0) {
+            mOutside.forEachInColumn(column, visitor);
+        }
+    }
+
+    /**
+     * Visit all matrix's items without allocations. Visited item can be removed from the matrix.
+     *
+     * @param visitor callback for each item
+     */
+    void forEach(@NonNull MatrixVisitor<TObj> visitor) {
+        for (int i = mFirstRow; i <= mLastRow; i++) {
+            for (int j = mFirstColumn; j <= mLastColumn; j++) {
+                visitIfNotNull(visitor, item(index(i, j)));
+            }
+        }
+        if (mOutsideCount > 0) {
+            mOutside.forEach(visitor);
+        }
+    }
+
+    /**
+     * Move Objects of the window's part to the sparse matrix.
+     */
+    private void moveToOutside(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstColumn; j <= lastColumn; j++) {
+                int index = index(i, j);
+                TObj item = item(index);
+                if (item != null) {
+                    mItems[index] = null;
+                    mOutside.put(i, j, item);
+                    mOutsideCount++;
+                }
+            }
+        }
+    }
+
+    private boolean isInside(int row, int column) {
+        return row >= mFirstRow && row <= mLastRow && column >= mFirstColumn && column <= mLastColumn;
+    }
+
+    private int index(int row, int column) {
+        return floorMod(row, mRowCapacity) * mColumnCapacity + floorMod(column, mColumnCapacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private TObj item(int index) {
+        return (TObj) mItems[index];
+    }
+
+    private static int floorMod(int value, int divider) {
+        int mod = value % divider;
+        return mod < 0 ? mod + divider : mod;
+    }
+
+    private static <TObj> void visitIfNotNull(MatrixVisitor<TObj> visitor, @Nullable TObj item) {
+        if (item != null) {
+            visitor.visit(item);
+        }
+    }
+
+    private void putOrRemove(int row, int column, @Nullable TObj item) {
+        if (item == null) {
+            remove(row, column);
+        } else {
+            put(row, column, item);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scrolls the view once per display frame. Touch scroll, fling and drag and drop scroll add their distances
+ * to the pending distance, which is applied to the view in the frame callback of {@link Choreographer}.
+ */
+class ScrollFrameDispatcher implements Choreographer.FrameCallback {
+    /**
+     * Scrollable view
+     */
+    private final View mView;
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    /**
+     * Sources which scroll the view in the next frame
+     */
+    private final List<ScrollFrameSource> mSources = new ArrayList<>(2);
+    /**
+     * Sources of the current frame. Sources can be added and removed while they are called
+     */
+    private final List<ScrollFrameSource> mFrameSources = new ArrayList<>(2);
+    /**
+     * Not applied scroll distance, including the fraction of pixel
+     */
+    private float mPendingX;
+    private float mPendingY;
+
+    private boolean mIsScheduled;
+    private boolean mIsDispatching;
+
+    ScrollFrameDispatcher(View view) {
+        mView = view;
+    }
+
+    /**
+     * Scroll the view by the distance in the next frame.
+     *
+     * @param distanceX distance along X axis, in pixels
+     * @param distanceY distance along Y axis, in pixels
+     */
+    void scrollBy(float distanceX, float distanceY) {
+        mPendingX += distanceX;
+        mPendingY += distanceY;
+        schedule();
+    }
+
+    /**
+     * Call the source in each frame until it returns false or is removed.
+     *
+     * @param source source of scroll distance
+     */
+    void addSource(@NonNull ScrollFrameSource source) {
+        if (!mSources.contains(source)) {
+            mSources.add(source);
+        }
+        schedule();
+    }
+
+    void removeSource(@NonNull ScrollFrameSource source) {
+        mSources.remove(source);
+    }
+
+    /**
+     * Scroll the view by the pending distance now, e.g. before scroll position is read.
+     */
+    void flush() {
+        int distanceX = (int) mPendingX;
+        int distanceY = (int) mPendingY;
+        mPendingX -= distanceX;
+        mPendingY -= distanceY;
+        if (distanceX != 0 || distanceY != 0) {
+            mView.scrollBy(distanceX, distanceY);
+        }
+    }
+
+    /**
+     * Remove all sources and forget the pending distance.
+     */
+    void cancel() {
+        mChoreographer.removeFrameCallback(this);
+        mIsScheduled = false;
+        mSources.clear();
+        mPendingX = 0;
+        mPendingY = 0;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mIsScheduled = false;
+        mIsDispatching = true;
+        // indexed loops don't allocate iterators and arrays in each frame
+        for (int count = mSources.size(), i = 0; i < count; i++) {
+            mFrameSources.add(mSources.get(i));
+        }
+        for (int count = mFrameSources.size(), i = 0; i < count; i++) {
+            ScrollFrameSource source = mFrameSources.get(i);
+            if (mSources.contains(source) && !source.onScrollFrame(frameTimeNanos)) {
+                mSources.remove(source);
+            }
+        }
+        mFrameSources.clear();
+        mIsDispatching = false;
+        // the only scroll of the frame
+        flush();
+        if (!mSources.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (!mIsScheduled && !mIsDispatching) {
+            mIsScheduled = true;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    interface ScrollFrameSource {
+
+        /**
+         * Add scroll distance of the frame to the dispatcher.
+         *
+         * @param frameTimeNanos start time of the frame, see {@link Choreographer.FrameCallback#doFrame(long)}
+         * @return false if the source doesn't scroll anymore
+         */
+        boolean onScrollFrame(long frameTimeNanos);
+    }
+}
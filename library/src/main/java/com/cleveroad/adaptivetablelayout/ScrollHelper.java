@@ -5,6 +5,8 @@ import android.support.annotation.Nullable;
 import android.support.v4.view.GestureDetectorCompat;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
 
 
 class ScrollHelper implements GestureDetector.OnGestureListener {
@@ -13,19 +15,63 @@ class ScrollHelper implements GestureDetector.OnGestureListener {
      * Using when user need to scroll table
      */
     private final GestureDetectorCompat mGestureDetectorCompat;
+    /**
+     * Scrolls the view with the finger in touch prediction mode
+     */
+    private final TouchScrollPredictor mTouchScrollPredictor;
+
+    private final int mMinFlingVelocity;
+    private final int mMaxFlingVelocity;
 
     @Nullable
     private ScrollHelperListener mListener;
 
-    ScrollHelper(Context context) {
+    private boolean mIsTouchPredictionEnabled;
+    /**
+     * Pan is handled without GestureDetector in touch prediction mode
+     */
+    private boolean mIsPanning;
+    /**
+     * Fling velocity of the pan
+     */
+    @Nullable
+    private VelocityTracker mVelocityTracker;
+    /**
+     * Down event of the pan, copy of GestureDetector's event
+     */
+    @Nullable
+    private MotionEvent mPanDownEvent;
+
+    ScrollHelper(Context context, ScrollFrameDispatcher dispatcher) {
         mGestureDetectorCompat = new GestureDetectorCompat(context, this);
         mGestureDetectorCompat.setIsLongpressEnabled(true);
+        mTouchScrollPredictor = new TouchScrollPredictor(dispatcher);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mMinFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
     }
 
     void setListener(@Nullable ScrollHelperListener listener) {
         mListener = listener;
     }
 
+    /**
+     * In touch prediction mode pans are handled without GestureDetector: all touch samples are used
+     * and the finger's position is extrapolated to the time when the frame is shown.
+     *
+     * @param enabled true to enable touch prediction mode
+     */
+    void setTouchPredictionEnabled(boolean enabled) {
+        mIsTouchPredictionEnabled = enabled;
+    }
+
+    /**
+     * @param refreshRate display's refresh rate, frames per second
+     */
+    void setRefreshRate(float refreshRate) {
+        mTouchScrollPredictor.setRefreshRate(refreshRate);
+    }
+
     @Override
     public boolean onDown(MotionEvent e) {
         // catch down action
@@ -46,7 +92,12 @@ class ScrollHelper implements GestureDetector.OnGestureListener {
     @Override
     public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
         // catch scroll action
-        return mListener != null && mListener.onScroll(e1, e2, distanceX, distanceY);
+        boolean result = mListener != null && mListener.onScroll(e1, e2, distanceX, distanceY);
+        if (result && mIsTouchPredictionEnabled) {
+            // GestureDetector has found the pan, handle the rest of it
+            startPan(e1, e2);
+        }
+        return result;
     }
 
     @Override
@@ -69,10 +120,124 @@ class ScrollHelper implements GestureDetector.OnGestureListener {
             // stop drag and drop mode
             mListener.onActionUp(event);
         }
+        if (mIsPanning) {
+            return onPanTouch(event);
+        }
         // connect GestureDetector with our touch events
         return mGestureDetectorCompat.onTouchEvent(event);
     }
 
+    private void startPan(MotionEvent downEvent, MotionEvent event) {
+        mIsPanning = true;
+        mPanDownEvent = MotionEvent.obtain(downEvent);
+        mVelocityTracker = VelocityTracker.obtain();
+        mVelocityTracker.addMovement(downEvent);
+        mVelocityTracker.addMovement(event);
+        mTouchScrollPredictor.start(getFocusX(event, -1), getFocusY(event, -1), event.getEventTime());
+    }
+
+    private boolean onPanTouch(MotionEvent event) {
+        VelocityTracker velocityTracker = mVelocityTracker;
+        if (velocityTracker == null) {
+            return false;
+        }
+        velocityTracker.addMovement(event);
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                // batched samples since the previous event
+                for (int count = event.getHistorySize(), i = 0; i < count; i++) {
+                    mTouchScrollPredictor.addSample(
+                            getFocusX(event, i), getFocusY(event, i), event.getHistoricalEventTime(i));
+                }
+                mTouchScrollPredictor.addSample(getFocusX(event, -1), getFocusY(event, -1), event.getEventTime());
+                break;
+            case MotionEvent.ACTION_POINTER_DOWN:
+            case MotionEvent.ACTION_POINTER_UP:
+                // focus point of pointers jumps
+                mTouchScrollPredictor.rebase(getFocusX(event, -1), getFocusY(event, -1), event.getEventTime());
+                break;
+            case MotionEvent.ACTION_UP:
+                mTouchScrollPredictor.stop(getFocusX(event, -1), getFocusY(event, -1));
+                velocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+                float velocityX = velocityTracker.getXVelocity();
+                float velocityY = velocityTracker.getYVelocity();
+                if (Math.abs(velocityX) > mMinFlingVelocity || Math.abs(velocityY) > mMinFlingVelocity) {
+                    onFling(mPanDownEvent, event, velocityX, velocityY);
+                }
+                finishPan(event);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                mTouchScrollPredictor.stop(getFocusX(event, -1), getFocusY(event, -1));
+                finishPan(event);
+                break;
+            case MotionEvent.ACTION_DOWN:
+                // the pan wasn't finished, e.g. the view was detached
+                mTouchScrollPredictor.cancel();
+                finishPan(event);
+                return mGestureDetectorCompat.onTouchEvent(event);
+            default:
+                break;
+        }
+        return true;
+    }
+
+    private void finishPan(MotionEvent event) {
+        mIsPanning = false;
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        if (mPanDownEvent != null) {
+            mPanDownEvent.recycle();
+            mPanDownEvent = null;
+        }
+        // GestureDetector didn't get events of the pan, reset its state
+        MotionEvent cancelEvent = MotionEvent.obtain(event);
+        cancelEvent.setAction(MotionEvent.ACTION_CANCEL);
+        mGestureDetectorCompat.onTouchEvent(cancelEvent);
+        cancelEvent.recycle();
+    }
+
+    /**
+     * Focus point of all pointers, as in GestureDetector.
+     *
+     * @param event      touch event
+     * @param historyPos index of historical sample or -1 for the current sample
+     * @return X position of the focus point
+     */
+    private static float getFocusX(MotionEvent event, int historyPos) {
+        int skipIndex = event.getActionMasked() == MotionEvent.ACTION_POINTER_UP ? event.getActionIndex() : -1;
+        float sum = 0;
+        int count = 0;
+        for (int pointerCount = event.getPointerCount(), i = 0; i < pointerCount; i++) {
+            if (i != skipIndex) {
+                sum += historyPos < 0 ? event.getX(i) : event.getHistoricalX(i, historyPos);
+                count++;
+            }
+        }
+        return count == 0 ? event.getX() : sum / count;
+    }
+
+    /**
+     * Focus point of all pointers, as in GestureDetector.
+     *
+     * @param event      touch event
+     * @param historyPos index of historical sample or -1 for the current sample
+     * @return Y position of the focus point
+     */
+    private static float getFocusY(MotionEvent event, int historyPos) {
+        int skipIndex = event.getActionMasked() == MotionEvent.ACTION_POINTER_UP ? event.getActionIndex() : -1;
+        float sum = 0;
+        int count = 0;
+        for (int pointerCount = event.getPointerCount(), i = 0; i < pointerCount; i++) {
+            if (i != skipIndex) {
+                sum += historyPos < 0 ? event.getY(i) : event.getHistoricalY(i, historyPos);
+                count++;
+            }
+        }
+        return count == 0 ? event.getY() : sum / count;
+    }
+
 
     interface ScrollHelperListener {
 
@@ -1,24 +1,38 @@
 package com.cleveroad.adaptivetablelayout;
 
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.view.View;
+import android.support.v4.content.ContextCompat;
 import android.view.ViewGroup;
 
+/**
+ * Shadows are drawn by the table after its layers, so they are always drawn over views.
+ * Drawables are created once and reused, bounds are set by the table.
+ */
 class ShadowHelper {
 
     @Nullable
-    private View mRightShadow;
+    private Drawable mRightShadow;
     @Nullable
-    private View mLeftShadow;
+    private Drawable mLeftShadow;
     @Nullable
-    private View mTopShadow;
+    private Drawable mTopShadow;
     @Nullable
-    private View mBottomShadow;
+    private Drawable mBottomShadow;
     @Nullable
-    private View mColumnsHeadersShadow;
+    private Drawable mColumnsHeadersShadow;
     @Nullable
-    private View mRowsHeadersShadow;
+    private Drawable mRowsHeadersShadow;
+
+    private boolean mIsRightShadowVisible;
+    private boolean mIsLeftShadowVisible;
+    private boolean mIsTopShadowVisible;
+    private boolean mIsBottomShadowVisible;
+    private boolean mIsColumnsHeadersShadowVisible;
+    private boolean mIsRowsHeadersShadowVisible;
 
     private LayoutDirectionHelper mLayoutDirectionHelper;
 
@@ -27,140 +41,150 @@ class ShadowHelper {
     }
 
     @NonNull
-    View addColumnsHeadersShadow(ViewGroup group) {
+    Drawable addColumnsHeadersShadow(ViewGroup group) {
         if (mColumnsHeadersShadow == null) {
-            mColumnsHeadersShadow = new View(group.getContext());
-            mColumnsHeadersShadow.setBackgroundResource(R.drawable.shadow_bottom);
-            group.addView(mColumnsHeadersShadow, 0);
+            mColumnsHeadersShadow = createShadow(group, R.drawable.shadow_bottom);
         }
+        mIsColumnsHeadersShadowVisible = true;
         return mColumnsHeadersShadow;
     }
 
     @Nullable
-    View getColumnsHeadersShadow() {
-        return mColumnsHeadersShadow;
+    Drawable getColumnsHeadersShadow() {
+        return mIsColumnsHeadersShadowVisible ? mColumnsHeadersShadow : null;
     }
 
     @NonNull
-    View addRowsHeadersShadow(ViewGroup group) {
+    Drawable addRowsHeadersShadow(ViewGroup group) {
         if (mRowsHeadersShadow == null) {
-            mRowsHeadersShadow = new View(group.getContext());
-            mRowsHeadersShadow.setBackgroundResource(!mLayoutDirectionHelper.isRTL()
-                    ? R.drawable.shadow_right
-                    : R.drawable.shadow_left);
-            group.addView(mRowsHeadersShadow, 0);
+            mRowsHeadersShadow = createShadow(group, getRowsHeadersShadowRes());
         }
+        mIsRowsHeadersShadowVisible = true;
         return mRowsHeadersShadow;
     }
 
     @Nullable
-    View getRowsHeadersShadow() {
-        return mRowsHeadersShadow;
+    Drawable getRowsHeadersShadow() {
+        return mIsRowsHeadersShadowVisible ? mRowsHeadersShadow : null;
     }
 
     void removeColumnsHeadersShadow(ViewGroup group) {
-        if (mColumnsHeadersShadow != null) {
-            group.removeView(mColumnsHeadersShadow);
-            mColumnsHeadersShadow = null;
+        if (mIsColumnsHeadersShadowVisible) {
+            mIsColumnsHeadersShadowVisible = false;
+            group.invalidate();
         }
     }
 
     void removeRowsHeadersShadow(ViewGroup group) {
-        if (mRowsHeadersShadow != null) {
-            group.removeView(mRowsHeadersShadow);
-            mRowsHeadersShadow = null;
+        if (mIsRowsHeadersShadowVisible) {
+            mIsRowsHeadersShadowVisible = false;
+            group.invalidate();
         }
     }
 
     @NonNull
-    View addLeftShadow(ViewGroup group) {
+    Drawable addLeftShadow(ViewGroup group) {
         if (mLeftShadow == null) {
-            mLeftShadow = new View(group.getContext());
-            mLeftShadow.setBackgroundResource(R.drawable.shadow_left);
-            group.addView(mLeftShadow, 0);
+            mLeftShadow = createShadow(group, R.drawable.shadow_left);
         }
+        mIsLeftShadowVisible = true;
         return mLeftShadow;
     }
 
     @Nullable
-    View getLeftShadow() {
-        return mLeftShadow;
+    Drawable getLeftShadow() {
+        return mIsLeftShadowVisible ? mLeftShadow : null;
     }
 
     @NonNull
-    View addRightShadow(ViewGroup group) {
+    Drawable addRightShadow(ViewGroup group) {
         if (mRightShadow == null) {
-            mRightShadow = new View(group.getContext());
-            mRightShadow.setBackgroundResource(R.drawable.shadow_right);
-            group.addView(mRightShadow, 0);
+            mRightShadow = createShadow(group, R.drawable.shadow_right);
         }
+        mIsRightShadowVisible = true;
         return mRightShadow;
     }
 
     @Nullable
-    View getRightShadow() {
-        return mRightShadow;
+    Drawable getRightShadow() {
+        return mIsRightShadowVisible ? mRightShadow : null;
     }
 
     @NonNull
-    View addTopShadow(ViewGroup group) {
+    Drawable addTopShadow(ViewGroup group) {
         if (mTopShadow == null) {
-            mTopShadow = new View(group.getContext());
-            mTopShadow.setBackgroundResource(R.drawable.shadow_top);
-            group.addView(mTopShadow, 0);
+            mTopShadow = createShadow(group, R.drawable.shadow_top);
         }
+        mIsTopShadowVisible = true;
         return mTopShadow;
     }
 
     @Nullable
-    View getTopShadow() {
-        return mTopShadow;
+    Drawable getTopShadow() {
+        return mIsTopShadowVisible ? mTopShadow : null;
     }
 
     @NonNull
-    View addBottomShadow(ViewGroup group) {
+    Drawable addBottomShadow(ViewGroup group) {
         if (mBottomShadow == null) {
-            mBottomShadow = new View(group.getContext());
-            mBottomShadow.setBackgroundResource(R.drawable.shadow_bottom);
-            group.addView(mBottomShadow, 0);
+            mBottomShadow = createShadow(group, R.drawable.shadow_bottom);
         }
+        mIsBottomShadowVisible = true;
         return mBottomShadow;
     }
 
     @Nullable
-    View getBottomShadow() {
-        return mBottomShadow;
+    Drawable getBottomShadow() {
+        return mIsBottomShadowVisible ? mBottomShadow : null;
     }
 
     void removeAllDragAndDropShadows(ViewGroup group) {
-        if (mLeftShadow != null) {
-            group.removeView(mLeftShadow);
-            mLeftShadow = null;
-        }
+        mIsLeftShadowVisible = false;
+        mIsRightShadowVisible = false;
+        mIsTopShadowVisible = false;
+        mIsBottomShadowVisible = false;
+        group.invalidate();
+    }
 
-        if (mRightShadow != null) {
-            group.removeView(mRightShadow);
-            mRightShadow = null;
+    void onLayoutDirectionChanged(ViewGroup group) {
+        if (mRowsHeadersShadow != null) {
+            Drawable shadow = createShadow(group, getRowsHeadersShadowRes());
+            shadow.setBounds(mRowsHeadersShadow.getBounds());
+            mRowsHeadersShadow = shadow;
+            group.invalidate();
         }
+    }
 
-        if (mTopShadow != null) {
-            group.removeView(mTopShadow);
-            mTopShadow = null;
-        }
+    /**
+     * Draw visible shadows. Call it after drawing of the table's views.
+     *
+     * @param canvas table's canvas
+     */
+    void draw(Canvas canvas) {
+        drawShadow(canvas, getColumnsHeadersShadow());
+        drawShadow(canvas, getRowsHeadersShadow());
+        drawShadow(canvas, getLeftShadow());
+        drawShadow(canvas, getRightShadow());
+        drawShadow(canvas, getTopShadow());
+        drawShadow(canvas, getBottomShadow());
+    }
 
-        if (mBottomShadow != null) {
-            group.removeView(mBottomShadow);
-            mBottomShadow = null;
+    private static void drawShadow(Canvas canvas, @Nullable Drawable shadow) {
+        if (shadow != null) {
+            shadow.draw(canvas);
         }
     }
 
-    void onLayoutDirectionChanged() {
-        if (getRowsHeadersShadow() != null) {
-            getRowsHeadersShadow().setBackgroundResource(
-                    !mLayoutDirectionHelper.isRTL()
-                            ? R.drawable.shadow_right
-                            : R.drawable.shadow_left);
-            getRowsHeadersShadow().requestLayout();
-        }
+    @DrawableRes
+    private int getRowsHeadersShadowRes() {
+        return !mLayoutDirectionHelper.isRTL()
+                ? R.drawable.shadow_right
+                : R.drawable.shadow_left;
+    }
+
+    @NonNull
+    private static Drawable createShadow(ViewGroup group, @DrawableRes int shadowRes) {
+        //noinspection ConstantConditions
+        return ContextCompat.getDrawable(group.getContext(), shadowRes);
     }
 }
@@ -1,17 +1,18 @@
 package com.cleveroad.adaptivetablelayout;
 
+import android.support.annotation.Nullable;
 import android.view.View;
 import android.widget.Scroller;
 
 /**
- * Fling table layout logic
+ * Fling table layout logic. The view is scrolled once per frame by {@link ScrollFrameDispatcher}.
  * {@see http://stackoverflow.com/a/6219382/842697 }
  */
-class SmoothScrollRunnable implements Runnable {
+class SmoothScrollRunnable implements ScrollFrameDispatcher.ScrollFrameSource {
     /**
-     * Scrollable view
+     * Applies scroll distance of each frame
      */
-    private final View mView;
+    private final ScrollFrameDispatcher mDispatcher;
     /**
      * Need to calculate offset.
      */
@@ -19,12 +20,24 @@ class SmoothScrollRunnable implements Runnable {
 
     private int mLastX;
     private int mLastY;
+    /**
+     * Scroll position at fling start
+     */
+    private int mInitX;
+    private int mInitY;
+
+    @Nullable
+    private SmoothScrollListener mListener;
 
-    SmoothScrollRunnable(View view) {
-        mView = view;
+    SmoothScrollRunnable(View view, ScrollFrameDispatcher dispatcher) {
+        mDispatcher = dispatcher;
         mScroller = new Scroller(view.getContext());
     }
 
+    void setListener(@Nullable SmoothScrollListener listener) {
+        mListener = listener;
+    }
+
     void start(int initX, int initY, int initialVelocityX, int initialVelocityY, int maxX, int maxY) {
         // start smooth scrolling
         mScroller.fling(initX, initY, initialVelocityX, initialVelocityY, 0, maxX, 0, maxY);
@@ -32,15 +45,17 @@ class SmoothScrollRunnable implements Runnable {
         // save new data
         mLastX = initX;
         mLastY = initY;
+        mInitX = initX;
+        mInitY = initY;
 
-        // run self
-        mView.post(this);
+        // run self in each frame
+        mDispatcher.addSource(this);
     }
 
     @Override
-    public void run() {
+    public boolean onScrollFrame(long frameTimeNanos) {
         if (mScroller.isFinished()) {
-            return;
+            return false;
         }
         // calculate offset
         boolean more = mScroller.computeScrollOffset();
@@ -49,15 +64,38 @@ class SmoothScrollRunnable implements Runnable {
         int diffX = mLastX - x;
         int diffY = mLastY - y;
         if (diffX != 0 || diffY != 0) {
-            mView.scrollBy(diffX, diffY);
+            mDispatcher.scrollBy(diffX, diffY);
             mLastX = x;
             mLastY = y;
         }
 
-        if (more) {
-            // run self
-            mView.post(this);
+        if (!more && mListener != null) {
+            // listener expects the final scroll position
+            mDispatcher.flush();
+            mListener.onSmoothScrollFinished();
         }
+        return more;
+    }
+
+    /**
+     * @return scroll X position where the fling stops. View is scrolled in the opposite direction of the scroller
+     */
+    int getFinalScrollX() {
+        return 2 * mInitX - mScroller.getFinalX();
+    }
+
+    /**
+     * @return scroll Y position where the fling stops. View is scrolled in the opposite direction of the scroller
+     */
+    int getFinalScrollY() {
+        return 2 * mInitY - mScroller.getFinalY();
+    }
+
+    /**
+     * @return current fling velocity in pixels per second, 0 if the fling is finished
+     */
+    float getCurrVelocity() {
+        return mScroller.isFinished() ? 0 : mScroller.getCurrVelocity();
     }
 
     boolean isFinished() {
@@ -67,6 +105,18 @@ class SmoothScrollRunnable implements Runnable {
     void forceFinished() {
         if (!mScroller.isFinished()) {
             mScroller.forceFinished(true);
+            mDispatcher.removeSource(this);
+            if (mListener != null) {
+                mListener.onSmoothScrollFinished();
+            }
         }
     }
+
+    interface SmoothScrollListener {
+
+        /**
+         * Called when the fling stops or is stopped.
+         */
+        void onSmoothScrollFinished();
+    }
 }
@@ -2,21 +2,25 @@ package com.cleveroad.adaptivetablelayout;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.v4.util.SparseArrayCompat;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Arrays;
 
 /**
- * Custom matrix realisation to hold Objects
+ * Custom matrix realisation to hold Objects. Row and column are packed to the long key of the hash map.
  *
  * @param <TObj> Object
  */
 class SparseMatrix<TObj> {
-    private final SparseArrayCompat<SparseArrayCompat<TObj>> mData;
+    private final LongHashMap<TObj> mData;
+    /**
+     * Keys and items which are moved by switch, they are put after iteration over the map
+     */
+    private long[] mMovedKeys = new long[0];
+    private Object[] mMovedItems = new Object[0];
+    private int mMovedCount;
 
     SparseMatrix() {
-        mData = new SparseArrayCompat<>();
+        mData = new LongHashMap<>();
     }
 
     /**
@@ -27,14 +31,7 @@ class SparseMatrix<TObj> {
      * @param item   Object
      */
     void put(int row, int column, @NonNull TObj item) {
-        SparseArrayCompat<TObj> array = mData.get(row);
-        if (array == null) {
-            array = new SparseArrayCompat<>();
-            array.put(column, item);
-            mData.put(row, array);
-        } else {
-            array.put(column, item);
-        }
+        mData.put(createKey(row, column), item);
     }
 
     /**
@@ -46,68 +43,51 @@ class SparseMatrix<TObj> {
      */
     @Nullable
     TObj get(int row, int column) {
-        SparseArrayCompat<TObj> array = mData.get(row);
-        return array == null ? null : array.get(column);
+        return mData.get(createKey(row, column));
     }
 
     /**
-     * Get all row's items
+     * Visit all row's items without allocations.
      *
-     * @param row row index
-     * @return Collection with row's Objects
+     * @param row     row index
+     * @param visitor callback for each item
      */
-    @NonNull
-    Collection<TObj> getRowItems(int row) {
-        Collection<TObj> result = new LinkedList<>();
-        SparseArrayCompat<TObj> array = mData.get(row);
-        for (int count = array.size(), i = 0; i < count; i++) {
-            int key = array.keyAt(i);
-            TObj columnObj = array.get(key);
-            if (columnObj != null) {
-                result.add(columnObj);
+    void forEachInRow(int row, @NonNull MatrixVisitor<TObj> visitor) {
+        for (int count = mData.capacity(), i = 0; i < count; i++) {
+            TObj item = mData.valueAt(i);
+            if (item != null && getRow(mData.keyAt(i)) == row) {
+                visitor.visit(item);
             }
-
         }
-        return result;
     }
 
     /**
-     * Get all column's items
+     * Visit all column's items without allocations.
      *
-     * @param column column index
-     * @return Collection with column's Objects
+     * @param column  column index
+     * @param visitor callback for each item
      */
-    @NonNull
-    Collection<TObj> getColumnItems(int column) {
-        Collection<TObj> result = new LinkedList<>();
-        for (int count = mData.size(), i = 0; i < count; i++) {
-            int key = mData.keyAt(i);
-            TObj columnObj = mData.get(key).get(column);
-            if (columnObj != null) {
-                result.add(columnObj);
+    void forEachInColumn(int column, @NonNull MatrixVisitor<TObj> visitor) {
+        for (int count = mData.capacity(), i = 0; i < count; i++) {
+            TObj item = mData.valueAt(i);
+            if (item != null && getColumn(mData.keyAt(i)) == column) {
+                visitor.visit(item);
             }
-
         }
-        return result;
     }
 
     /**
-     * Get all matrix's items
+     * Visit all matrix's items without allocations.
      *
-     * @return Collection with column's Objects
+     * @param visitor callback for each item
      */
-    @NonNull
-    Collection<TObj> getAll() {
-        Collection<TObj> result = new LinkedList<>();
-        for (int countR = mData.size(), i = 0; i < countR; i++) {
-            int rowKey = mData.keyAt(i);
-            SparseArrayCompat<TObj> columns = mData.get(rowKey);
-            for (int countC = columns.size(), j = 0; j < countC; j++) {
-                int key = columns.keyAt(j);
-                result.add(columns.get(key));
+    void forEach(@NonNull MatrixVisitor<TObj> visitor) {
+        for (int count = mData.capacity(), i = 0; i < count; i++) {
+            TObj item = mData.valueAt(i);
+            if (item != null) {
+                visitor.visit(item);
             }
         }
-        return result;
     }
 
     /**
@@ -117,9 +97,146 @@ class SparseMatrix<TObj> {
      * @param column item column position
      */
     void remove(int row, int column) {
-        SparseArrayCompat<TObj> array = mData.get(row);
-        if (array != null) {
-            array.remove(column);
+        mData.remove(createKey(row, column));
+    }
+
+    /**
+     * Switch items of two columns in rows outside the skipped range.
+     *
+     * @param column       first column
+     * @param toColumn     second column
+     * @param skipFirstRow first row which isn't switched
+     * @param skipLastRow  last row which isn't switched
+     */
+    void switchColumns(int column, int toColumn, int skipFirstRow, int skipLastRow) {
+        if (column == toColumn) {
+            return;
+        }
+        for (int count = mData.capacity(), i = 0; i < count; i++) {
+            long key = mData.keyAt(i);
+            int row = getRow(key);
+            int itemColumn = getColumn(key);
+            if (mData.valueAt(i) != null && (row < skipFirstRow || row > skipLastRow)
+                    && (itemColumn == column || itemColumn == toColumn)) {
+                switchItem(i, createKey(row, itemColumn == column ? toColumn : column), itemColumn == column);
+            }
+        }
+        putMovedItems();
+    }
+
+    /**
+     * Switch items of two rows in columns outside the skipped range.
+     *
+     * @param row             first row
+     * @param toRow           second row
+     * @param skipFirstColumn first column which isn't switched
+     * @param skipLastColumn  last column which isn't switched
+     */
+    void switchRows(int row, int toRow, int skipFirstColumn, int skipLastColumn) {
+        if (row == toRow) {
+            return;
+        }
+        for (int count = mData.capacity(), i = 0; i < count; i++) {
+            long key = mData.keyAt(i);
+            int itemRow = getRow(key);
+            int column = getColumn(key);
+            if (mData.valueAt(i) != null && (column < skipFirstColumn || column > skipLastColumn)
+                    && (itemRow == row || itemRow == toRow)) {
+                switchItem(i, createKey(itemRow == row ? toRow : row, column), itemRow == row);
+            }
         }
+        putMovedItems();
+    }
+
+    /**
+     * @return slots count, use it to iterate over the matrix without allocations
+     */
+    int capacity() {
+        return mData.capacity();
+    }
+
+    /**
+     * @param slot slot index
+     * @return item in the slot or null if the slot is free
+     */
+    @Nullable
+    TObj valueAt(int slot) {
+        return mData.valueAt(slot);
+    }
+
+    /**
+     * @param slot slot index
+     * @return row of the item in the slot
+     */
+    int rowAt(int slot) {
+        return getRow(mData.keyAt(slot));
+    }
+
+    /**
+     * @param slot slot index
+     * @return column of the item in the slot
+     */
+    int columnAt(int slot) {
+        return getColumn(mData.keyAt(slot));
+    }
+
+    /**
+     * Remove item in the slot. Other items keep their slots, so it can be used while iterating.
+     *
+     * @param slot slot index
+     */
+    void removeAt(int slot) {
+        mData.removeAt(slot);
+    }
+
+    /**
+     * Swap item in the slot with the item of the pair key in place. If there is no pair item,
+     * the item is removed and put to the pair key by {@link #putMovedItems()}.
+     *
+     * @param slot    slot of the item
+     * @param pairKey key of the item in the other row or column
+     * @param isFirst true if the item is in the first row or column, the pair is swapped only once by it
+     */
+    private void switchItem(int slot, long pairKey, boolean isFirst) {
+        int pairSlot = mData.indexOfKey(pairKey);
+        TObj item = mData.valueAt(slot);
+        if (pairSlot >= 0) {
+            if (isFirst) {
+                //noinspection ConstantConditions
+                mData.setValueAt(slot, mData.valueAt(pairSlot));
+                mData.setValueAt(pairSlot, item);
+            }
+            return;
+        }
+        if (mMovedCount == mMovedKeys.length) {
+            int capacity = Math.max(4, mMovedCount * 2);
+            mMovedKeys = Arrays.copyOf(mMovedKeys, capacity);
+            mMovedItems = Arrays.copyOf(mMovedItems, capacity);
+        }
+        mMovedKeys[mMovedCount] = pairKey;
+        mMovedItems[mMovedCount] = item;
+        mMovedCount++;
+        mData.removeAt(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void putMovedItems() {
+        for (int i = 0; i < mMovedCount; i++) {
+            mData.put(mMovedKeys[i], (TObj) mMovedItems[i]);
+            mMovedItems[i] = null;
+        }
+        mMovedCount = 0;
+    }
+
+    private static long createKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int getRow(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int getColumn(long key) {
+        return (int) key;
     }
 }
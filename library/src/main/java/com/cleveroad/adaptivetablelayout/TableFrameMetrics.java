@@ -0,0 +1,233 @@
+package com.cleveroad.adaptivetablelayout;
+
+import java.util.Arrays;
+
+/**
+ * Work of {@link AdaptiveTableLayout} in one drawn frame: scroll, creation, recycling, binding, measure and
+ * layout of view holders. Work is counted from the previous drawn frame till this one.
+ * Times are in nanoseconds.
+ */
+public class TableFrameMetrics {
+    /**
+     * Time of the frame's draw, see {@link System#nanoTime()}
+     */
+    private long mFrameTimeNanos;
+    /**
+     * Time from the previous drawn frame, 0 if it's unknown
+     */
+    private long mFrameIntervalNanos;
+    /**
+     * True if the table was scrolled in this and the previous frames
+     */
+    private boolean mIsScrolling;
+    /**
+     * Count of display frames which were missed before this frame during scroll
+     */
+    private int mDroppedFrameCount;
+
+    private int mScrollCount;
+    private long mScrollTimeNanos;
+
+    private int mCreatedViewHolderCount;
+    private int mRecycledViewHolderCount;
+    private int mCachedViewHolderCount;
+
+    private int mMeasureCount;
+    private int mLayoutCount;
+    /**
+     * Bind counts and times of item view types, in order of the first bind in the frame
+     */
+    private int mBindViewTypeCount;
+    private int[] mBindViewTypes = new int[1];
+    private int[] mBindCounts = new int[1];
+    private long[] mBindTimesNanos = new long[1];
+
+    TableFrameMetrics() {
+    }
+
+    /**
+     * @return time of the frame's draw, see {@link System#nanoTime()}
+     */
+    public long getFrameTimeNanos() {
+        return mFrameTimeNanos;
+    }
+
+    /**
+     * @return time from the previous drawn frame, 0 if it's unknown
+     */
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    /**
+     * @return true if the table was scrolled in this and the previous frames
+     */
+    public boolean isScrolling() {
+        return mIsScrolling;
+    }
+
+    /**
+     * @return count of display frames which were missed before this frame during scroll or fling
+     */
+    public int getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+    /**
+     * @return true if the frame was drawn later than the next display frame during scroll or fling
+     */
+    public boolean isOverBudget() {
+        return mDroppedFrameCount > 0;
+    }
+
+    /**
+     * @return count of viewport updates by scroll
+     */
+    public int getScrollCount() {
+        return mScrollCount;
+    }
+
+    /**
+     * @return total time of viewport updates by scroll, including creation and binding of view holders
+     */
+    public long getScrollTimeNanos() {
+        return mScrollTimeNanos;
+    }
+
+    /**
+     * @return count of view holders created by the adapter
+     */
+    public int getCreatedViewHolderCount() {
+        return mCreatedViewHolderCount;
+    }
+
+    /**
+     * @return count of view holders taken from recycled view holders
+     */
+    public int getRecycledViewHolderCount() {
+        return mRecycledViewHolderCount;
+    }
+
+    /**
+     * @return count of prefetched or recently hidden view holders which were shown without binding
+     */
+    public int getCachedViewHolderCount() {
+        return mCachedViewHolderCount;
+    }
+
+    /**
+     * @return count of view holders' measures
+     */
+    public int getMeasureCount() {
+        return mMeasureCount;
+    }
+
+    /**
+     * @return count of table's layouts
+     */
+    public int getLayoutCount() {
+        return mLayoutCount;
+    }
+
+    /**
+     * @return count of item view types which were bound in the frame
+     */
+    public int getBindViewTypeCount() {
+        return mBindViewTypeCount;
+    }
+
+    /**
+     * @param index index from 0 to {@link #getBindViewTypeCount()}
+     * @return item view type, see {@link AdaptiveTableAdapter#getItemViewType(int, int)}
+     */
+    public int getBindViewType(int index) {
+        return mBindViewTypes[index];
+    }
+
+    /**
+     * @param index index from 0 to {@link #getBindViewTypeCount()}
+     * @return count of item binds of the view type
+     */
+    public int getBindCount(int index) {
+        return mBindCounts[index];
+    }
+
+    /**
+     * @param index index from 0 to {@link #getBindViewTypeCount()}
+     * @return total time of item binds of the view type
+     */
+    public long getBindTimeNanos(int index) {
+        return mBindTimesNanos[index];
+    }
+
+    void setFrame(long frameTimeNanos, long frameIntervalNanos, boolean isScrolling, int droppedFrameCount) {
+        mFrameTimeNanos = frameTimeNanos;
+        mFrameIntervalNanos = frameIntervalNanos;
+        mIsScrolling = isScrolling;
+        mDroppedFrameCount = droppedFrameCount;
+    }
+
+    void addScroll(long timeNanos) {
+        mScrollCount++;
+        mScrollTimeNanos += timeNanos;
+    }
+
+    void addCreatedViewHolder() {
+        mCreatedViewHolderCount++;
+    }
+
+    void addRecycledViewHolder() {
+        mRecycledViewHolderCount++;
+    }
+
+    void addCachedViewHolder() {
+        mCachedViewHolderCount++;
+    }
+
+    void addMeasure() {
+        mMeasureCount++;
+    }
+
+    void addLayout() {
+        mLayoutCount++;
+    }
+
+    void addBind(int viewType, long timeNanos) {
+        int index = 0;
+        while (index < mBindViewTypeCount && mBindViewTypes[index] != viewType) {
+            index++;
+        }
+        if (index == mBindViewTypeCount) {
+            if (index == mBindViewTypes.length) {
+                // new view type
+                mBindViewTypes = Arrays.copyOf(mBindViewTypes, index * 2);
+                mBindCounts = Arrays.copyOf(mBindCounts, index * 2);
+                mBindTimesNanos = Arrays.copyOf(mBindTimesNanos, index * 2);
+            }
+            mBindViewTypes[index] = viewType;
+            mBindCounts[index] = 0;
+            mBindTimesNanos[index] = 0;
+            mBindViewTypeCount++;
+        }
+        mBindCounts[index]++;
+        mBindTimesNanos[index] += timeNanos;
+    }
+
+    /**
+     * Clear counts for the next frame.
+     */
+    void reset() {
+        mFrameTimeNanos = 0;
+        mFrameIntervalNanos = 0;
+        mIsScrolling = false;
+        mDroppedFrameCount = 0;
+        mScrollCount = 0;
+        mScrollTimeNanos = 0;
+        mCreatedViewHolderCount = 0;
+        mRecycledViewHolderCount = 0;
+        mCachedViewHolderCount = 0;
+        mMeasureCount = 0;
+        mLayoutCount = 0;
+        mBindViewTypeCount = 0;
+    }
+}
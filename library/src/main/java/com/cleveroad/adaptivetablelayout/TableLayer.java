@@ -0,0 +1,184 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * One of the table's layers: body, row's headers, column's headers or left top corner.
+ * Layer's bounds are the area where its views are visible, so views are clipped once per layer.
+ * Views are laid out once in the layer's content coordinates and are moved by layer's scroll.
+ * Views of dragging view holders are drawn over other views.
+ */
+class TableLayer extends ViewGroup implements ViewGroup.OnHierarchyChangeListener {
+    /**
+     * Cached drawing order. Contains child's indexes.
+     */
+    private int[] mDrawingOrder = new int[0];
+    /**
+     * Count of valid indexes in {@link #mDrawingOrder}. The array only grows, so it isn't reallocated
+     * when strips of views enter and leave the layer
+     */
+    private int mDrawingOrderSize;
+
+    private boolean mIsDrawingOrderDirty = true;
+
+    TableLayer(Context context) {
+        super(context);
+        setChildrenDrawingOrderEnabled(true);
+        setOnHierarchyChangeListener(this);
+    }
+
+    @Override
+    public void onChildViewAdded(View parent, View child) {
+        mIsDrawingOrderDirty = true;
+    }
+
+    @Override
+    public void onChildViewRemoved(View parent, View child) {
+        mIsDrawingOrderDirty = true;
+    }
+
+    /**
+     * Calculate drawing order again before next drawing. Call it when dragging flags are changed.
+     */
+    void invalidateDrawingOrder() {
+        mIsDrawingOrderDirty = true;
+        invalidate();
+    }
+
+    /**
+     * Attach the view which was detached by {@link #detachView(View)}.
+     * Unlike {@link #addView(View)} it doesn't request layout and doesn't dispatch attach callbacks.
+     *
+     * @param view detached view
+     */
+    void attachView(View view) {
+        view.setTag(R.id.tag_detached_layer, null);
+        attachViewToParent(view, 0, view.getLayoutParams());
+        mIsDrawingOrderDirty = true;
+        invalidate();
+    }
+
+    /**
+     * Detach the view without request layout. The view should be attached again by {@link #attachView(View)}
+     * or removed by {@link #removeDetachedView(View)}.
+     *
+     * @param view layer's view
+     */
+    void detachView(View view) {
+        if (view.hasFocus()) {
+            view.clearFocus();
+        }
+        detachViewFromParent(view);
+        view.setTag(R.id.tag_detached_layer, this);
+        mIsDrawingOrderDirty = true;
+        invalidate();
+    }
+
+    /**
+     * Finish removing of the view which was detached by {@link #detachView(View)}.
+     * Nothing is done if the view isn't detached from this layer.
+     *
+     * @param view detached view
+     */
+    void removeDetachedView(View view) {
+        if (isDetachedView(view)) {
+            view.setTag(R.id.tag_detached_layer, null);
+            removeDetachedView(view, false);
+        }
+    }
+
+    /**
+     * Attach the view if it was detached from this layer, otherwise add it as a new view.
+     *
+     * @param view view without parent or detached view
+     */
+    void addOrAttachView(View view) {
+        if (isDetachedView(view)) {
+            attachView(view);
+        } else {
+            addView(view, 0);
+        }
+    }
+
+    private boolean isDetachedView(View view) {
+        return view.getTag(R.id.tag_detached_layer) == this;
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        if (mIsDrawingOrderDirty || mDrawingOrderSize != childCount) {
+            calculateDrawingOrder(childCount);
+        }
+        return mDrawingOrder[i];
+    }
+
+    private void calculateDrawingOrder(int childCount) {
+        if (childCount > mDrawingOrder.length) {
+            mDrawingOrder = new int[childCount];
+        }
+        mDrawingOrderSize = childCount;
+        int position = 0;
+        // not dragging views
+        for (int i = 0; i < childCount; i++) {
+            if (!isDragging(getChildAt(i))) {
+                mDrawingOrder[position++] = i;
+            }
+        }
+        // dragging views
+        for (int i = 0; i < childCount; i++) {
+            if (isDragging(getChildAt(i))) {
+                mDrawingOrder[position++] = i;
+            }
+        }
+        mIsDrawingOrderDirty = false;
+    }
+
+    private static boolean isDragging(View view) {
+        ViewHolder holder = (ViewHolder) view.getTag(R.id.tag_view_holder);
+        return holder != null && holder.isDragging();
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        // views are laid out by AdaptiveTableLayout
+    }
+
+    /**
+     * Change layer's bounds and position of the content.
+     *
+     * @param left    left bound in table's coordinates
+     * @param top     top bound in table's coordinates
+     * @param right   right bound in table's coordinates
+     * @param bottom  bottom bound in table's coordinates
+     * @param originX table's X coordinate of the content's left side
+     * @param originY table's Y coordinate of the content's top side
+     */
+    void update(int left, int top, int right, int bottom, int originX, int originY) {
+        int tempRight = Math.max(left, right);
+        int tempBottom = Math.max(top, bottom);
+        if (left != getLeft() || top != getTop() || tempRight != getRight() || tempBottom != getBottom()
+                || isLayoutRequested()) {
+            measure(MeasureSpec.makeMeasureSpec(tempRight - left, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(tempBottom - top, MeasureSpec.EXACTLY));
+            layout(left, top, tempRight, tempBottom);
+        }
+        scrollTo(left - originX, top - originY);
+    }
+
+    /**
+     * Layout the layer's view using table's coordinates.
+     *
+     * @param view   layer's view
+     * @param left   left position in table's coordinates
+     * @param top    top position in table's coordinates
+     * @param right  right position in table's coordinates
+     * @param bottom bottom position in table's coordinates
+     */
+    void layoutChild(View view, int left, int top, int right, int bottom) {
+        int offsetX = getScrollX() - getLeft();
+        int offsetY = getScrollY() - getTop();
+        view.layout(left + offsetX, top + offsetY, right + offsetX, bottom + offsetY);
+    }
+}
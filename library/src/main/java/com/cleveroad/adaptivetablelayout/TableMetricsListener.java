@@ -0,0 +1,12 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+
+public interface TableMetricsListener {
+    /**
+     * Metrics of the drawn frame. Called on the main thread after the frame is drawn.
+     *
+     * @param metrics metrics of the frame. The object is reused, copy values to keep them
+     */
+    void onFrameMetrics(@NonNull TableFrameMetrics metrics);
+}
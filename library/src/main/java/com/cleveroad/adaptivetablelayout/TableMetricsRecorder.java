@@ -0,0 +1,168 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Records {@link TableFrameMetrics} of sampled frames and reports them to the listener after the frame is drawn.
+ * Frames which aren't sampled only remember their draw time, so the recorder can stay on in release builds.
+ */
+class TableMetricsRecorder {
+    /**
+     * Frame interval of 60 fps display, in nanoseconds
+     */
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667L;
+
+    private final TableFrameMetrics mMetrics = new TableFrameMetrics();
+
+    @Nullable
+    private TableMetricsListener mListener;
+    /**
+     * Every n-th drawn frame is recorded
+     */
+    private int mSamplingInterval = 1;
+    /**
+     * Drawn frames after the last recorded frame
+     */
+    private int mFrameCounter;
+    /**
+     * True if the current frame is recorded
+     */
+    private boolean mIsRecording;
+
+    private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    /**
+     * Draw time of the previous frame, 0 if there is no previous frame
+     */
+    private long mLastFrameTimeNanos;
+    private boolean mIsLastFrameScrolled;
+    private boolean mIsFrameScrolled;
+
+    /**
+     * @param listener         metrics listener, null to stop recording
+     * @param samplingInterval every n-th drawn frame is recorded
+     */
+    void setListener(@Nullable TableMetricsListener listener, int samplingInterval) {
+        mListener = listener;
+        mSamplingInterval = Math.max(1, samplingInterval);
+        mFrameCounter = 0;
+        mMetrics.reset();
+        mIsRecording = listener != null;
+        mLastFrameTimeNanos = 0;
+    }
+
+    /**
+     * @param refreshRate display's refresh rate, frames per second
+     */
+    void setRefreshRate(float refreshRate) {
+        mFrameIntervalNanos = refreshRate >= 1
+                ? (long) (1000000000L / refreshRate)
+                : DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+
+    /**
+     * @return true if work of the current frame is recorded
+     */
+    boolean isRecording() {
+        return mIsRecording;
+    }
+
+    /**
+     * Call it before the viewport update.
+     *
+     * @param isMoved true if the scroll distance isn't zero
+     * @return start time to pass to {@link #finishScroll(long)}
+     */
+    long startScroll(boolean isMoved) {
+        mIsFrameScrolled |= isMoved;
+        return mIsRecording ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Call it after the viewport update.
+     *
+     * @param startTimeNanos value of {@link #startScroll(boolean)}
+     */
+    void finishScroll(long startTimeNanos) {
+        if (mIsRecording) {
+            mMetrics.addScroll(System.nanoTime() - startTimeNanos);
+        }
+    }
+
+    /**
+     * @return start time to pass to {@link #finishBind(int, long)}
+     */
+    long startBind() {
+        return mIsRecording ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param viewType       item view type
+     * @param startTimeNanos value of {@link #startBind()}
+     */
+    void finishBind(int viewType, long startTimeNanos) {
+        if (mIsRecording) {
+            mMetrics.addBind(viewType, System.nanoTime() - startTimeNanos);
+        }
+    }
+
+    void addCreatedViewHolder() {
+        if (mIsRecording) {
+            mMetrics.addCreatedViewHolder();
+        }
+    }
+
+    void addRecycledViewHolder() {
+        if (mIsRecording) {
+            mMetrics.addRecycledViewHolder();
+        }
+    }
+
+    void addCachedViewHolder() {
+        if (mIsRecording) {
+            mMetrics.addCachedViewHolder();
+        }
+    }
+
+    void addMeasure() {
+        if (mIsRecording) {
+            mMetrics.addMeasure();
+        }
+    }
+
+    void addLayout() {
+        if (mIsRecording) {
+            mMetrics.addLayout();
+        }
+    }
+
+    /**
+     * Report metrics if the frame is recorded and choose whether the next frame is recorded.
+     * Call it when the frame is drawn.
+     */
+    void onFrameDrawn() {
+        if (mListener == null) {
+            return;
+        }
+        long frameTime = System.nanoTime();
+        if (mIsRecording) {
+            long interval = mLastFrameTimeNanos == 0 ? 0 : frameTime - mLastFrameTimeNanos;
+            // frames are expected one after another only during scroll
+            boolean isScrolling = interval > 0 && mIsFrameScrolled && mIsLastFrameScrolled;
+            int droppedFrames = isScrolling
+                    ? (int) Math.max(0, (interval + mFrameIntervalNanos / 2) / mFrameIntervalNanos - 1)
+                    : 0;
+            mMetrics.setFrame(frameTime, interval, isScrolling, droppedFrames);
+            mListener.onFrameMetrics(mMetrics);
+            mMetrics.reset();
+        }
+        mLastFrameTimeNanos = frameTime;
+        mIsLastFrameScrolled = mIsFrameScrolled;
+        mIsFrameScrolled = false;
+        mFrameCounter++;
+        // listener can be removed by itself
+        mIsRecording = mListener != null && mFrameCounter % mSamplingInterval == 0;
+        if (mIsRecording) {
+            mFrameCounter = 0;
+        }
+    }
+}
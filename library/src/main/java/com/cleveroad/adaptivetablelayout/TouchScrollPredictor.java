@@ -0,0 +1,176 @@
+package com.cleveroad.adaptivetablelayout;
+
+/**
+ * Scrolls the view with the finger during a pan. Touch samples, including historical samples of batched events,
+ * give finger's velocity, and finger's position is extrapolated to the time when the frame is shown.
+ * The view is scrolled once per frame by {@link ScrollFrameDispatcher}.
+ */
+class TouchScrollPredictor implements ScrollFrameDispatcher.ScrollFrameSource {
+    /**
+     * Frame interval of 60 fps display, in milliseconds
+     */
+    private static final float DEFAULT_FRAME_INTERVAL_MILLIS = 1000f / 60;
+    /**
+     * Count of the last samples which are kept
+     */
+    private static final int MAX_SAMPLES = 8;
+    /**
+     * Velocity is calculated by samples of this last time, in milliseconds
+     */
+    private static final long VELOCITY_WINDOW_MILLIS = 24;
+    /**
+     * Max extrapolation time, in milliseconds. If the last sample is older, the finger is most likely stopped
+     * and its position isn't extrapolated
+     */
+    private static final long MAX_PREDICTION_MILLIS = 25;
+    /**
+     * Applies scroll distance of each frame
+     */
+    private final ScrollFrameDispatcher mDispatcher;
+    /**
+     * Ring buffer of samples: finger's position and time in uptime milliseconds
+     */
+    private final float[] mSampleX = new float[MAX_SAMPLES];
+    private final float[] mSampleY = new float[MAX_SAMPLES];
+    private final long[] mSampleTime = new long[MAX_SAMPLES];
+    /**
+     * Index of the last sample
+     */
+    private int mLastSample;
+    private int mSampleCount;
+    /**
+     * Finger's position which the view is scrolled to
+     */
+    private float mAppliedX;
+    private float mAppliedY;
+
+    private float mFrameIntervalMillis = DEFAULT_FRAME_INTERVAL_MILLIS;
+
+    TouchScrollPredictor(ScrollFrameDispatcher dispatcher) {
+        mDispatcher = dispatcher;
+    }
+
+    /**
+     * @param refreshRate display's refresh rate, frames per second
+     */
+    void setRefreshRate(float refreshRate) {
+        mFrameIntervalMillis = refreshRate >= 1 ? 1000f / refreshRate : DEFAULT_FRAME_INTERVAL_MILLIS;
+    }
+
+    /**
+     * Start tracking of the finger. The view is already scrolled to the finger's position.
+     *
+     * @param x    finger's X position
+     * @param y    finger's Y position
+     * @param time time of the position, in uptime milliseconds
+     */
+    void start(float x, float y, long time) {
+        mSampleCount = 0;
+        mAppliedX = x;
+        mAppliedY = y;
+        addSample(x, y, time);
+    }
+
+    /**
+     * Add finger's position. The view is scrolled in the next frame.
+     *
+     * @param x    finger's X position
+     * @param y    finger's Y position
+     * @param time time of the position, in uptime milliseconds
+     */
+    void addSample(float x, float y, long time) {
+        mLastSample = (mLastSample + 1) % MAX_SAMPLES;
+        mSampleX[mLastSample] = x;
+        mSampleY[mLastSample] = y;
+        mSampleTime[mLastSample] = time;
+        mSampleCount = Math.min(mSampleCount + 1, MAX_SAMPLES);
+        mDispatcher.addSource(this);
+    }
+
+    /**
+     * Move tracking to another position of the same finger's movement, e.g. when the focus point of
+     * several pointers jumps because a pointer goes down or up. The view isn't scrolled by the jump.
+     *
+     * @param x    new finger's X position
+     * @param y    new finger's Y position
+     * @param time time of the position, in uptime milliseconds
+     */
+    void rebase(float x, float y, long time) {
+        if (mSampleCount > 0) {
+            // keep not applied distance
+            mAppliedX += x - mSampleX[mLastSample];
+            mAppliedY += y - mSampleY[mLastSample];
+        } else {
+            mAppliedX = x;
+            mAppliedY = y;
+        }
+        mSampleCount = 0;
+        addSample(x, y, time);
+    }
+
+    /**
+     * Stop tracking. The view is scrolled to the actual finger's position without extrapolation.
+     *
+     * @param x    finger's last X position
+     * @param y    finger's last Y position
+     */
+    void stop(float x, float y) {
+        mDispatcher.removeSource(this);
+        if (mSampleCount > 0) {
+            mDispatcher.scrollBy(mAppliedX - x, mAppliedY - y);
+        }
+        mSampleCount = 0;
+    }
+
+    /**
+     * Stop tracking without scroll.
+     */
+    void cancel() {
+        mDispatcher.removeSource(this);
+        mSampleCount = 0;
+    }
+
+    @Override
+    public boolean onScrollFrame(long frameTimeNanos) {
+        if (mSampleCount == 0) {
+            return false;
+        }
+        float lastX = mSampleX[mLastSample];
+        float lastY = mSampleY[mLastSample];
+        long lastTime = mSampleTime[mLastSample];
+        // the frame is shown on the next vsync
+        float predictionTime = frameTimeNanos / 1000000f + mFrameIntervalMillis - lastTime;
+        float x = lastX;
+        float y = lastY;
+        if (predictionTime > 0 && predictionTime <= MAX_PREDICTION_MILLIS) {
+            int first = findFirstVelocitySample(lastTime);
+            long duration = lastTime - mSampleTime[first];
+            if (duration > 0) {
+                x += (lastX - mSampleX[first]) * predictionTime / duration;
+                y += (lastY - mSampleY[first]) * predictionTime / duration;
+            }
+        }
+        // finger moves in the opposite direction of the scroll
+        mDispatcher.scrollBy(mAppliedX - x, mAppliedY - y);
+        mAppliedX = x;
+        mAppliedY = y;
+        // wait for the next sample if the view is at the finger's position
+        return x != lastX || y != lastY;
+    }
+
+    /**
+     * @param lastTime time of the last sample
+     * @return index of the oldest sample in the velocity window
+     */
+    private int findFirstVelocitySample(long lastTime) {
+        int result = mLastSample;
+        for (int i = 1; i < mSampleCount; i++) {
+            int index = (mLastSample - i + MAX_SAMPLES) % MAX_SAMPLES;
+            if (lastTime - mSampleTime[index] > VELOCITY_WINDOW_MILLIS) {
+                break;
+            }
+            result = index;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+package com.cleveroad.adaptivetablelayout;
+
+import java.util.Arrays;
+
+/**
+ * Item's sizes for tables where almost all items have the same size.
+ * Keeps only default size and sorted list of items with another size (overrides),
+ * so memory doesn't depend on items count. Cumulative sizes are calculated using default size
+ * and overrides, it costs O(log k), where k is overrides count.
+ */
+class UniformItemSizes implements ItemSizes {
+    private static final int DEFAULT_OVERRIDES_CAPACITY = 8;
+    /**
+     * Items count
+     */
+    private final int mCount;
+    /**
+     * Size of all items without overrides
+     */
+    private final int mDefaultSize;
+    /**
+     * Sorted indexes of items with not default size
+     */
+    private int[] mIndexes;
+    /**
+     * Sizes of items with not default size
+     */
+    private int[] mSizes;
+    /**
+     * Cumulative differences with default size. Item with index j contains sum for the overrides [0, j).
+     */
+    private long[] mDeltas;
+    /**
+     * Overrides count
+     */
+    private int mOverridesCount;
+
+    UniformItemSizes(int count, int defaultSize) {
+        mCount = count;
+        mDefaultSize = defaultSize;
+        mIndexes = new int[DEFAULT_OVERRIDES_CAPACITY];
+        mSizes = new int[DEFAULT_OVERRIDES_CAPACITY];
+        mDeltas = new long[DEFAULT_OVERRIDES_CAPACITY + 1];
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    @Override
+    public int get(int index) {
+        int position = Arrays.binarySearch(mIndexes, 0, mOverridesCount, index);
+        return position >= 0 ? mSizes[position] : mDefaultSize;
+    }
+
+    /**
+     * Put item's size. Item with not default size is saved as override.
+     * Cumulative sizes are updated immediately, {@link #build()} is not required.
+     *
+     * @param index item index
+     * @param value item's size
+     */
+    @Override
+    public void put(int index, int value) {
+        set(index, value);
+    }
+
+    @Override
+    public void build() {
+        // cumulative sizes are always actual
+    }
+
+    /**
+     * Change item's size. Costs O(k), where k is overrides count.
+     *
+     * @param index item index
+     * @param value new item's size
+     */
+    @Override
+    public void set(int index, int value) {
+        int position = Arrays.binarySearch(mIndexes, 0, mOverridesCount, index);
+        if (position >= 0) {
+            if (value == mDefaultSize) {
+                // remove override
+                System.arraycopy(mIndexes, position + 1, mIndexes, position, mOverridesCount - position - 1);
+                System.arraycopy(mSizes, position + 1, mSizes, position, mOverridesCount - position - 1);
+                mOverridesCount--;
+            } else {
+                mSizes[position] = value;
+            }
+        } else if (value != mDefaultSize) {
+            // add override
+            position = -position - 1;
+            if (mOverridesCount == mIndexes.length) {
+                mIndexes = Arrays.copyOf(mIndexes, mOverridesCount * 2);
+                mSizes = Arrays.copyOf(mSizes, mOverridesCount * 2);
+                mDeltas = Arrays.copyOf(mDeltas, mOverridesCount * 2 + 1);
+            }
+            System.arraycopy(mIndexes, position, mIndexes, position + 1, mOverridesCount - position);
+            System.arraycopy(mSizes, position, mSizes, position + 1, mOverridesCount - position);
+            mIndexes[position] = index;
+            mSizes[position] = value;
+            mOverridesCount++;
+        } else {
+            // nothing changed
+            return;
+        }
+
+        // update cumulative differences
+        for (int i = position; i < mOverridesCount; i++) {
+            mDeltas[i + 1] = mDeltas[i] + mSizes[i] - mDefaultSize;
+        }
+    }
+
+    @Override
+    public void swap(int index, int toIndex) {
+        int value = get(toIndex);
+        set(toIndex, get(index));
+        set(index, value);
+    }
+
+    @Override
+    public long getSum(int to) {
+        int position = Arrays.binarySearch(mIndexes, 0, mOverridesCount, to);
+        // overrides count before item "to"
+        int overrides = position >= 0 ? position : -position - 1;
+        return (long) to * mDefaultSize + mDeltas[overrides];
+    }
+
+    @Override
+    public long getTotal() {
+        return getSum(mCount);
+    }
+
+    /**
+     * Search item index which bounds contains position. Uses binary search by items,
+     * so it costs O(log n * log k), where k is overrides count.
+     *
+     * @param position       position without headers
+     * @param shiftEveryStep shift after every item (cell margin)
+     * @return item index
+     */
+    @Override
+    public int getIndexByPosition(int position, int shiftEveryStep) {
+        if (position <= 0) {
+            return 0;
+        }
+        // search first item which end is bigger than position
+        int low = 1;
+        int high = mCount;
+        int end = mCount + 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (getSum(middle) + (long) middle * shiftEveryStep > position) {
+                end = middle;
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (end > mCount) {
+            return mCount - 1;
+        }
+        int index = end - 1;
+        return getSum(index) + (long) index * shiftEveryStep == position ? index - 1 : index;
+    }
+}
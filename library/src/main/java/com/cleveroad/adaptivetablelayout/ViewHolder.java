@@ -44,6 +44,26 @@ interface ViewHolder {
     void setColumnIndex(int columnIndex);
 
 
+    /**
+     * @return adapter's view type of the item
+     */
+    int getItemViewType();
+
+    /**
+     * @param itemViewType adapter's view type of the item
+     */
+    void setItemViewType(int itemViewType);
+
+    /**
+     * @return stable id of the last bound item or {@link AdaptiveTableAdapter#NO_ID}
+     */
+    long getItemId();
+
+    /**
+     * @param itemId stable id of the bound item or {@link AdaptiveTableAdapter#NO_ID}
+     */
+    void setItemId(long itemId);
+
     /**
      * @return dragging flag
      */
@@ -53,4 +73,30 @@ interface ViewHolder {
      * @param isDragging dragging param
      */
     void setIsDragging(boolean isDragging);
+
+    /**
+     * @return true if the item is bound as a placeholder
+     */
+    boolean isPlaceholder();
+
+    /**
+     * @param isPlaceholder true if the item is bound as a placeholder
+     */
+    void setIsPlaceholder(boolean isPlaceholder);
+
+    /**
+     * @return width measure spec of the last item view's measure
+     */
+    int getWidthMeasureSpec();
+
+    /**
+     * @return height measure spec of the last item view's measure
+     */
+    int getHeightMeasureSpec();
+
+    /**
+     * @param widthMeasureSpec  width measure spec of the item view's measure
+     * @param heightMeasureSpec height measure spec of the item view's measure
+     */
+    void setMeasureSpecs(int widthMeasureSpec, int heightMeasureSpec);
 }
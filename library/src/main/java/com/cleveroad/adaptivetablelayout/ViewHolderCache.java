@@ -0,0 +1,282 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Keeps recently hidden and prefetched view holders with their rows and columns.
+ * These view holders are still attached and bound, so they can be shown again without rebinding.
+ * The oldest view holders are returned from {@link #pollOverflow()} when there are too many of them.
+ * <p>
+ * Entries of the LRU list are reused, so put and remove don't allocate memory after the cache is filled once.
+ */
+class ViewHolderCache {
+    /**
+     * View holders by item type, see {@link ViewHolderType}
+     */
+    private final Entries[] mViewHolders = new Entries[ViewHolderType.ITEM + 1];
+    /**
+     * Removed entries for reuse
+     */
+    @Nullable
+    private Entry mFreeEntries;
+    /**
+     * Max view holders count of each item type
+     */
+    private int mMaxSize;
+
+    /**
+     * @param maxSize max view holders count of each item type
+     */
+    void setMaxSize(int maxSize) {
+        mMaxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * Add view holder to the cache. It can be returned by {@link #remove(int, int, int)} with the same
+     * item type, row and column.
+     *
+     * @param viewHolder hidden view holder
+     */
+    void put(@NonNull ViewHolder viewHolder) {
+        put(viewHolder, false);
+    }
+
+    /**
+     * Add view holder to the cache as the oldest one, so it's returned from {@link #pollOverflow()} first.
+     *
+     * @param viewHolder hidden view holder
+     */
+    void putOldest(@NonNull ViewHolder viewHolder) {
+        put(viewHolder, true);
+    }
+
+    private void put(ViewHolder viewHolder, boolean isOldest) {
+        Entries entries = mViewHolders[viewHolder.getItemType()];
+        if (entries == null) {
+            entries = new Entries();
+            mViewHolders[viewHolder.getItemType()] = entries;
+        }
+        long key = createKey(viewHolder.getRowIndex(), viewHolder.getColumnIndex());
+        Entry entry = entries.mMap.get(key);
+        if (entry != null) {
+            // the newest one in this place
+            entries.unlink(entry);
+        } else {
+            entry = obtainEntry();
+            entry.mKey = key;
+            entries.mMap.put(key, entry);
+        }
+        entry.mViewHolder = viewHolder;
+        if (isOldest) {
+            entries.linkFirst(entry);
+        } else {
+            entries.linkLast(entry);
+        }
+    }
+
+    /**
+     * Remove view holder from the cache.
+     *
+     * @param itemType view holder's item type
+     * @param row      view holder's row
+     * @param column   view holder's column
+     * @return cached view holder or null if there is no one
+     */
+    @Nullable
+    ViewHolder remove(int itemType, int row, int column) {
+        Entries entries = mViewHolders[itemType];
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.mMap.remove(createKey(row, column));
+        if (entry == null) {
+            return null;
+        }
+        entries.unlink(entry);
+        return recycleEntry(entry);
+    }
+
+    /**
+     * @param itemType view holder's item type
+     * @param row      view holder's row
+     * @param column   view holder's column
+     * @return true if the cache has view holder in this place
+     */
+    boolean contains(int itemType, int row, int column) {
+        Entries entries = mViewHolders[itemType];
+        return entries != null && entries.mMap.get(createKey(row, column)) != null;
+    }
+
+    /**
+     * Remove the oldest view holder of the item type which has more view holders than allowed.
+     *
+     * @return removed view holder or null if the cache isn't overflowed
+     */
+    @Nullable
+    ViewHolder pollOverflow() {
+        for (Entries entries : mViewHolders) {
+            Entry oldest = entries == null ? null : entries.mFirst;
+            if (oldest != null && entries.mMap.size() > mMaxSize) {
+                entries.mMap.remove(oldest.mKey);
+                entries.unlink(oldest);
+                return recycleEntry(oldest);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove all view holders from the cache. The cache can be changed by the visitor.
+     *
+     * @param visitor callback for each removed view holder, from the oldest one
+     */
+    void removeAll(@NonNull MatrixVisitor<ViewHolder> visitor) {
+        for (Entries entries : mViewHolders) {
+            if (entries == null) {
+                continue;
+            }
+            Entry entry = entries.mFirst;
+            entries.mMap.clear();
+            entries.mFirst = null;
+            entries.mLast = null;
+            while (entry != null) {
+                Entry next = entry.mNext;
+                visitor.visit(recycleEntry(entry));
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Remove items and the header of the column, e.g. when column's data is changed.
+     *
+     * @param column  column index
+     * @param visitor callback for each removed view holder
+     */
+    void removeColumn(int column, @NonNull MatrixVisitor<ViewHolder> visitor) {
+        removeIf(ViewHolderType.ITEM, false, column, visitor);
+        removeIf(ViewHolderType.COLUMN_HEADER, false, column, visitor);
+    }
+
+    /**
+     * Remove items and the header of the row, e.g. when row's data is changed.
+     *
+     * @param row     row index
+     * @param visitor callback for each removed view holder
+     */
+    void removeRow(int row, @NonNull MatrixVisitor<ViewHolder> visitor) {
+        removeIf(ViewHolderType.ITEM, true, row, visitor);
+        removeIf(ViewHolderType.ROW_HEADER, true, row, visitor);
+    }
+
+    /**
+     * Remove view holders of the item type in the row or column. Cost depends on the cache size only.
+     */
+    private void removeIf(int itemType, boolean isRow, int index, MatrixVisitor<ViewHolder> visitor) {
+        Entries entries = mViewHolders[itemType];
+        Entry entry = entries == null ? null : entries.mFirst;
+        while (entry != null) {
+            Entry next = entry.mNext;
+            int entryIndex = isRow ? getRow(entry.mKey) : getColumn(entry.mKey);
+            if (entryIndex == index) {
+                entries.mMap.remove(entry.mKey);
+                entries.unlink(entry);
+                visitor.visit(recycleEntry(entry));
+            }
+            entry = next;
+        }
+    }
+
+    private Entry obtainEntry() {
+        Entry entry = mFreeEntries;
+        if (entry == null) {
+            return new Entry();
+        }
+        mFreeEntries = entry.mNext;
+        entry.mNext = null;
+        return entry;
+    }
+
+    private ViewHolder recycleEntry(Entry entry) {
+        ViewHolder viewHolder = entry.mViewHolder;
+        entry.mViewHolder = null;
+        entry.mPrevious = null;
+        entry.mNext = mFreeEntries;
+        mFreeEntries = entry;
+        return viewHolder;
+    }
+
+    private static long createKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int getRow(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int getColumn(long key) {
+        return (int) key;
+    }
+
+    /**
+     * View holders of one item type. Entries are linked from the oldest to the newest one.
+     */
+    private static class Entries {
+        /**
+         * Entries by row and column
+         */
+        private final LongHashMap<Entry> mMap = new LongHashMap<>();
+        @Nullable
+        private Entry mFirst;
+        @Nullable
+        private Entry mLast;
+
+        private void linkLast(Entry entry) {
+            entry.mPrevious = mLast;
+            entry.mNext = null;
+            if (mLast == null) {
+                mFirst = entry;
+            } else {
+                mLast.mNext = entry;
+            }
+            mLast = entry;
+        }
+
+        private void linkFirst(Entry entry) {
+            entry.mPrevious = null;
+            entry.mNext = mFirst;
+            if (mFirst == null) {
+                mLast = entry;
+            } else {
+                mFirst.mPrevious = entry;
+            }
+            mFirst = entry;
+        }
+
+        private void unlink(Entry entry) {
+            if (entry.mPrevious == null) {
+                mFirst = entry.mNext;
+            } else {
+                entry.mPrevious.mNext = entry.mNext;
+            }
+            if (entry.mNext == null) {
+                mLast = entry.mPrevious;
+            } else {
+                entry.mNext.mPrevious = entry.mPrevious;
+            }
+            entry.mPrevious = null;
+            entry.mNext = null;
+        }
+    }
+
+    private static class Entry {
+        private long mKey;
+        @Nullable
+        private ViewHolder mViewHolder;
+        @Nullable
+        private Entry mPrevious;
+        @Nullable
+        private Entry mNext;
+    }
+}
@@ -23,10 +23,30 @@ public abstract class ViewHolderImpl implements ViewHolder {
      * ViewHolder's table item type param
      */
     private int mItemType;
+    /**
+     * Adapter's view type of the item
+     */
+    private int mItemViewType;
+    /**
+     * Stable id of the last bound item
+     */
+    private long mItemId = AdaptiveTableAdapter.NO_ID;
     /**
      * ViewHolder's dragging flag
      */
     private boolean mIsDragging;
+    /**
+     * ViewHolder's placeholder flag
+     */
+    private boolean mIsPlaceholder;
+    /**
+     * Width measure spec of the last item view's measure
+     */
+    private int mWidthMeasureSpec;
+    /**
+     * Height measure spec of the last item view's measure
+     */
+    private int mHeightMeasureSpec;
 
     public ViewHolderImpl(@NonNull View itemView) {
         mItemView = itemView;
@@ -68,6 +88,26 @@ public abstract class ViewHolderImpl implements ViewHolder {
         mItemType = itemType;
     }
 
+    @Override
+    public int getItemViewType() {
+        return mItemViewType;
+    }
+
+    @Override
+    public void setItemViewType(int itemViewType) {
+        mItemViewType = itemViewType;
+    }
+
+    @Override
+    public long getItemId() {
+        return mItemId;
+    }
+
+    @Override
+    public void setItemId(long itemId) {
+        mItemId = itemId;
+    }
+
     @Override
     public int hashCode() {
         int result = mItemView.hashCode();
@@ -96,4 +136,30 @@ public abstract class ViewHolderImpl implements ViewHolder {
     public void setIsDragging(boolean isDragging) {
         mIsDragging = isDragging;
     }
+
+    @Override
+    public boolean isPlaceholder() {
+        return mIsPlaceholder;
+    }
+
+    @Override
+    public void setIsPlaceholder(boolean isPlaceholder) {
+        mIsPlaceholder = isPlaceholder;
+    }
+
+    @Override
+    public int getWidthMeasureSpec() {
+        return mWidthMeasureSpec;
+    }
+
+    @Override
+    public int getHeightMeasureSpec() {
+        return mHeightMeasureSpec;
+    }
+
+    @Override
+    public void setMeasureSpecs(int widthMeasureSpec, int heightMeasureSpec) {
+        mWidthMeasureSpec = widthMeasureSpec;
+        mHeightMeasureSpec = heightMeasureSpec;
+    }
 }
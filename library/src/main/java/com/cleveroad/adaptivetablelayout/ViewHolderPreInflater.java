@@ -0,0 +1,113 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.Nullable;
+import android.util.SparseIntArray;
+
+/**
+ * Creates view holders ahead of time on the main thread, in small portions when its message queue is idle.
+ * Created view holders are put to the pool, so the first layout and scroll only bind them.
+ */
+class ViewHolderPreInflater implements Runnable, MessageQueue.IdleHandler {
+    /**
+     * Max time of one creation step, in nanoseconds. At least one view holder is created per step
+     */
+    private static final long STEP_DURATION_NANOS = 4000000L;
+    /**
+     * Headers are created first, there are few of them and they are shown with every row and column
+     */
+    private static final int[] ITEM_TYPES = {
+            ViewHolderType.COLUMN_HEADER, ViewHolderType.ROW_HEADER, ViewHolderType.ITEM};
+    /**
+     * Wakes the message queue to wait for the next idle time
+     */
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    /**
+     * Remaining count of view holders by item type
+     */
+    private final SparseIntArray mCounts = new SparseIntArray(3);
+
+    @Nullable
+    private ViewHolderPreInflaterListener mListener;
+
+    private boolean mIsInflating;
+
+    void setListener(@Nullable ViewHolderPreInflaterListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Start creation. Counts replace the remaining counts of previous start.
+     *
+     * @param itemCount         count of item view holders
+     * @param rowHeaderCount    count of row header view holders
+     * @param columnHeaderCount count of column header view holders
+     */
+    void start(int itemCount, int rowHeaderCount, int columnHeaderCount) {
+        cancel();
+        mCounts.put(ViewHolderType.ITEM, Math.max(0, itemCount));
+        mCounts.put(ViewHolderType.ROW_HEADER, Math.max(0, rowHeaderCount));
+        mCounts.put(ViewHolderType.COLUMN_HEADER, Math.max(0, columnHeaderCount));
+        mIsInflating = true;
+        // wait for idle time
+        run();
+    }
+
+    /**
+     * Stop creation of the rest view holders.
+     */
+    void cancel() {
+        if (mIsInflating) {
+            mHandler.removeCallbacks(this);
+            Looper.myQueue().removeIdleHandler(this);
+        }
+        mCounts.clear();
+        mIsInflating = false;
+    }
+
+    boolean isInflating() {
+        return mIsInflating;
+    }
+
+    @Override
+    public void run() {
+        Looper.myQueue().addIdleHandler(this);
+    }
+
+    @Override
+    public boolean queueIdle() {
+        if (!mIsInflating) {
+            return false;
+        }
+        long deadline = System.nanoTime() + STEP_DURATION_NANOS;
+        for (int itemType : ITEM_TYPES) {
+            while (mCounts.get(itemType) > 0) {
+                if (System.nanoTime() > deadline) {
+                    // idle handler isn't called again until the queue gets a message
+                    mHandler.post(this);
+                    return false;
+                }
+                mCounts.put(itemType, mCounts.get(itemType) - 1);
+                if (mListener == null || !mListener.onPreInflateViewHolder(itemType)) {
+                    // view holders of this type can't be created
+                    mCounts.put(itemType, 0);
+                }
+            }
+        }
+        mIsInflating = false;
+        return false;
+    }
+
+    interface ViewHolderPreInflaterListener {
+
+        /**
+         * Create view holder and put it to the pool.
+         *
+         * @param itemType view holder type
+         * @return false if view holder wasn't created
+         */
+        boolean onPreInflateViewHolder(int itemType);
+    }
+}
@@ -0,0 +1,123 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+/**
+ * Prefetches view holders of the next row and column in the scroll direction after the frame is drawn,
+ * while there is time left before the next frame. Prefetched view holders are created and bound ahead,
+ * so the frame which shows them only moves them.
+ */
+class ViewHolderPrefetcher implements Runnable {
+    /**
+     * Frame interval of 60 fps display, in nanoseconds
+     */
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667L;
+    /**
+     * View which runs prefetching
+     */
+    private final View mView;
+
+    @Nullable
+    private ViewHolderPrefetcherListener mListener;
+
+    private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    /**
+     * Start time of the drawn frame, in uptime milliseconds
+     */
+    private long mFrameTimeMillis;
+    /**
+     * Running average time of one view holder's prefetching, in nanoseconds
+     */
+    private long mAverageDurationNanos;
+    /**
+     * Scroll direction along each axis: -1, 0 or 1
+     */
+    private int mDirectionX;
+    private int mDirectionY;
+
+    ViewHolderPrefetcher(View view) {
+        mView = view;
+    }
+
+    void setListener(@Nullable ViewHolderPrefetcherListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @param refreshRate display's refresh rate, frames per second
+     */
+    void setRefreshRate(float refreshRate) {
+        mFrameIntervalNanos = refreshRate >= 1
+                ? (long) (1000000000L / refreshRate)
+                : DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+
+    /**
+     * Remember direction of the last scroll. Only sign of the distance matters.
+     *
+     * @param distanceX scrolled distance along X axis
+     * @param distanceY scrolled distance along Y axis
+     */
+    void setDirection(int distanceX, int distanceY) {
+        mDirectionX = Integer.signum(distanceX);
+        mDirectionY = Integer.signum(distanceY);
+    }
+
+    /**
+     * Prefetch after the current frame. Call it when the frame is drawn.
+     *
+     * @param frameTimeMillis start time of the frame, see {@link View#getDrawingTime()}
+     */
+    void schedule(long frameTimeMillis) {
+        if (mDirectionX == 0 && mDirectionY == 0) {
+            return;
+        }
+        mFrameTimeMillis = frameTimeMillis;
+        mView.removeCallbacks(this);
+        mView.post(this);
+    }
+
+    /**
+     * Stop prefetching and forget scroll direction.
+     */
+    void cancel() {
+        mView.removeCallbacks(this);
+        mDirectionX = 0;
+        mDirectionY = 0;
+    }
+
+    @Override
+    public void run() {
+        long remainingNanos = mFrameIntervalNanos - (SystemClock.uptimeMillis() - mFrameTimeMillis) * 1000000L;
+        long deadline = System.nanoTime() + remainingNanos;
+        while (mListener != null) {
+            long start = System.nanoTime();
+            if (start + mAverageDurationNanos > deadline) {
+                // the next view holder most likely doesn't fit into the frame
+                return;
+            }
+            if (!mListener.onPrefetchViewHolder(mDirectionX, mDirectionY)) {
+                // all view holders are prefetched
+                return;
+            }
+            long duration = System.nanoTime() - start;
+            mAverageDurationNanos = mAverageDurationNanos == 0
+                    ? duration
+                    : (mAverageDurationNanos * 3 + duration) / 4;
+        }
+    }
+
+    interface ViewHolderPrefetcherListener {
+
+        /**
+         * Prefetch one view holder of the next row or column in the scroll direction.
+         *
+         * @param directionX scroll direction along X axis: -1, 0 or 1
+         * @param directionY scroll direction along Y axis: -1, 0 or 1
+         * @return false if there is nothing to prefetch
+         */
+        boolean onPrefetchViewHolder(int directionX, int directionY);
+    }
+}
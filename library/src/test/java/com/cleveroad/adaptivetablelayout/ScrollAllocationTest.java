@@ -0,0 +1,162 @@
+package com.cleveroad.adaptivetablelayout;
+
+import android.view.View;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the containers which run in each scroll frame don't allocate memory once they are warmed up.
+ * Each frame does the work of {@link AdaptiveTableLayout} when the visible range moves by one strip:
+ * view holders which left the window go to {@link ViewHolderCache}, the oldest cached ones are pushed
+ * to {@link Recycler}, and view holders which entered the window are taken from the cache or popped
+ * from the recycler by item id. Live view holders are kept in {@link RingBufferMatrix}.
+ */
+public class ScrollAllocationTest {
+    private static final int ROW_COUNT = 500;
+    private static final int COLUMN_COUNT = 300;
+    private static final int VISIBLE_ROWS = 12;
+    private static final int VISIBLE_COLUMNS = 6;
+
+    private final RingBufferMatrix<ViewHolder> mViewHolders = new RingBufferMatrix<>();
+    private final ViewHolderCache mViewHolderCache = new ViewHolderCache();
+    private final Recycler mRecycler = new Recycler();
+    /**
+     * View holder which stays in its place while the window is scrolled, like a dragging one
+     */
+    private final ViewHolder mDraggingViewHolder = new TestViewHolder();
+
+    private int mFirstRow;
+    private int mFirstColumn;
+    private int mCreatedCount;
+
+    @Test
+    public void scrollDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = getThreadBean();
+        Assume.assumeTrue(threadBean != null);
+        long threadId = Thread.currentThread().getId();
+
+        // the same sizes as the table sets for its visible range
+        mViewHolderCache.setMaxSize(2 * (VISIBLE_ROWS + VISIBLE_COLUMNS + 2));
+        mRecycler.setDefaultMaxSize(ViewHolderType.ITEM, VISIBLE_ROWS * VISIBLE_COLUMNS);
+        mDraggingViewHolder.setRowIndex(1);
+        mDraggingViewHolder.setColumnIndex(1);
+        mViewHolders.put(1, 1, mDraggingViewHolder);
+        // warm up: grow all containers and compile hot methods
+        for (int i = 0; i < 3; i++) {
+            scrollForwardAndBack();
+        }
+        int createdCount = mCreatedCount;
+
+        // allocations of the measurement itself
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+        start = threadBean.getThreadAllocatedBytes(threadId);
+        scrollForwardAndBack();
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - start - overhead;
+
+        assertEquals("bytes allocated by scroll", 0, Math.max(0, allocated));
+        assertEquals("view holders created by scroll", createdCount, mCreatedCount);
+        assertTrue(mRecycler.getCount(ViewHolderType.ITEM) > 0);
+        assertEquals(mDraggingViewHolder, mViewHolders.get(1, 1));
+    }
+
+    private void scrollForwardAndBack() {
+        setVisibleRange(0, 0);
+        // diagonal scroll: the row changes every frame, the column every other frame
+        for (int frame = 0; frame < ROW_COUNT - VISIBLE_ROWS; frame++) {
+            setVisibleRange(frame, Math.min(frame / 2, COLUMN_COUNT - VISIBLE_COLUMNS));
+        }
+        for (int frame = ROW_COUNT - VISIBLE_ROWS; frame >= 0; frame--) {
+            setVisibleRange(frame, Math.min(frame / 2, COLUMN_COUNT - VISIBLE_COLUMNS));
+        }
+    }
+
+    private void setVisibleRange(int firstRow, int firstColumn) {
+        int oldFirstRow = mFirstRow;
+        int oldLastRow = mFirstRow + VISIBLE_ROWS - 1;
+        int oldFirstColumn = mFirstColumn;
+        int oldLastColumn = mFirstColumn + VISIBLE_COLUMNS - 1;
+        int lastRow = firstRow + VISIBLE_ROWS - 1;
+        int lastColumn = firstColumn + VISIBLE_COLUMNS - 1;
+
+        // hide items which left the window
+        for (int i = oldFirstRow; i <= oldLastRow; i++) {
+            for (int j = oldFirstColumn; j <= oldLastColumn; j++) {
+                ViewHolder holder = mViewHolders.get(i, j);
+                if (holder != null && holder != mDraggingViewHolder
+                        && (i < firstRow || i > lastRow || j < firstColumn || j > lastColumn)) {
+                    mViewHolders.remove(i, j);
+                    holder.getItemView().setVisibility(View.INVISIBLE);
+                    mViewHolderCache.put(holder);
+                }
+            }
+        }
+        ViewHolder overflow;
+        while ((overflow = mViewHolderCache.pollOverflow()) != null) {
+            mRecycler.pushRecycledView(overflow);
+        }
+        mViewHolders.setWindow(firstRow, lastRow, firstColumn, lastColumn);
+
+        // show items which entered the window
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstColumn; j <= lastColumn; j++) {
+                if (mViewHolders.get(i, j) == null) {
+                    mViewHolders.put(i, j, obtainViewHolder(i, j));
+                }
+            }
+        }
+        mFirstRow = firstRow;
+        mFirstColumn = firstColumn;
+    }
+
+    private ViewHolder obtainViewHolder(int row, int column) {
+        ViewHolder holder = mViewHolderCache.remove(ViewHolderType.ITEM, row, column);
+        if (holder == null) {
+            long itemId = (long) row * COLUMN_COUNT + column;
+            holder = mRecycler.popRecycledViewHolder(ViewHolderType.ITEM, 0, itemId);
+            if (holder == null) {
+                holder = new TestViewHolder();
+                mCreatedCount++;
+            }
+            holder.setRowIndex(row);
+            holder.setColumnIndex(column);
+            holder.setItemId(itemId);
+        }
+        holder.getItemView().setVisibility(View.VISIBLE);
+        return holder;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+                if (threadBean.isThreadAllocatedMemorySupported()) {
+                    threadBean.setThreadAllocatedMemoryEnabled(true);
+                    return threadBean;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException ignored) {
+            // allocation counting isn't available on this JVM
+        }
+        return null;
+    }
+
+    /**
+     * Item view holder with a stub view, its methods return default values in unit tests
+     */
+    private static class TestViewHolder extends ViewHolderImpl {
+
+        TestViewHolder() {
+            super(new View(null));
+            setItemType(ViewHolderType.ITEM);
+        }
+    }
+}
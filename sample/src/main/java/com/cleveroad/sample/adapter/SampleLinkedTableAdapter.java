@@ -114,6 +114,16 @@ public class SampleLinkedTableAdapter extends LinkedAdaptiveTableAdapter<ViewHol
                 .into(vh.ivImage);
     }
 
+    @Override
+    public void onBindPlaceholderViewHolder(@NonNull ViewHolderImpl viewHolder, int row, int column) {
+        TestViewHolder vh = (TestViewHolder) viewHolder;
+        // don't load images during fast fling
+        Glide.clear(vh.ivImage);
+        vh.ivImage.setVisibility(View.INVISIBLE);
+        vh.tvText.setVisibility(View.VISIBLE);
+        vh.tvText.setText(null);
+    }
+
     @Override
     public void onBindHeaderColumnViewHolder(@NonNull ViewHolderImpl viewHolder, int column) {
         TestHeaderColumnViewHolder vh = (TestHeaderColumnViewHolder) viewHolder;
@@ -161,6 +171,16 @@ public class SampleLinkedTableAdapter extends LinkedAdaptiveTableAdapter<ViewHol
         return mHeaderWidth;
     }
 
+    @Override
+    public int getUniformColumnWidth() {
+        return mColumnWidth;
+    }
+
+    @Override
+    public int getUniformRowHeight() {
+        return mRowHeight;
+    }
+
     //------------------------------------- view holders ------------------------------------------
 
     private static class TestViewHolder extends ViewHolderImpl {
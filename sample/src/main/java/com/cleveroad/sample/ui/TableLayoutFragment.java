@@ -15,6 +15,7 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.widget.ProgressBar;
 import android.widget.TextView;
@@ -245,6 +246,9 @@ public class TableLayoutFragment
         mTableAdapter.setOnItemClickListener(this);
         mTableAdapter.setOnItemLongClickListener(this);
 
+        // bind placeholders instead of loading images during fast fling
+        mTableLayout.setPlaceholderFlingVelocity(
+                ViewConfiguration.get(getContext()).getScaledMaximumFlingVelocity() / 4);
         mTableLayout.setAdapter(mTableAdapter);
     }
 